@@ -0,0 +1,95 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.MenuAPI;
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Menu;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures routing a click through the {@link com.dsh105.menuapi.api.MenuDispatcher} to a Menu, with a varying number
+ * of other Menus registered
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClickDispatchBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int menus;
+
+    private final List<Menu> registered = new ArrayList<>();
+    private InventoryClickEvent click;
+
+    @Setup
+    public void setUp() {
+        StubServer server = StubServer.get();
+        for (int i = 0; i < menus; i++) {
+            Menu menu = new Menu(server.getPlugin(), "Menu " + i, 54);
+            Icon icon = new Icon(Material.STONE, "Icon " + i, "Click me");
+            icon.setClose(false);
+            menu.setSlot(13, icon);
+            registered.add(menu);
+        }
+
+        Player player = StubPlayer.create("Clicker");
+        registered.get(menus / 2).show(player);
+        click = new InventoryClickEvent(player.getOpenInventory(), InventoryType.SlotType.CONTAINER, 13, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Menu menu : registered) {
+            menu.dispose();
+        }
+        registered.clear();
+    }
+
+    @Benchmark
+    public InventoryClickEvent dispatchClick() {
+        MenuAPI.getDispatcher().onInventoryClick(click);
+        return click;
+    }
+}
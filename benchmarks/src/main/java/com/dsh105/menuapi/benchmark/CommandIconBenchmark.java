@@ -0,0 +1,77 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.CommandIcon;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a {@link com.dsh105.menuapi.api.CommandIcon} for permitted and denied players, both from its
+ * cache and after the Icon has changed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandIconBenchmark {
+
+    @Param({"true", "false"})
+    public boolean permitted;
+
+    private CommandIcon icon;
+    private Player viewer;
+    private boolean changeNameColours;
+
+    @Setup
+    public void setUp() {
+        StubServer.get();
+        icon = new CommandIcon("menuapi.command", "say hello", Material.DIAMOND, "&aSay hello", "Says hello", "to everyone");
+        viewer = StubPlayer.create("Viewer", permitted);
+    }
+
+    @Benchmark
+    public ItemStack cached() {
+        return icon.getIcon(viewer);
+    }
+
+    @Benchmark
+    public ItemStack rebuilt() {
+        changeNameColours = !changeNameColours;
+        icon.setChangeNameColours(changeNameColours);
+        return icon.getIcon(viewer);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.stub.StubServer;
+import com.dsh105.menuapi.util.InventoryFactory;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Locale;
+
+/**
+ * Reports the size of a 54 slot inventory encoded with each {@link com.dsh105.menuapi.util.InventoryFactory.Encoding}
+ * <p/>
+ * Sizes are given both as the Base64 string returned by
+ * {@link com.dsh105.menuapi.util.InventoryFactory#encodeInventory(org.bukkit.inventory.Inventory, com.dsh105.menuapi.util.InventoryFactory.Encoding)}
+ * and, for the binary encodings, as raw bytes. Run with
+ * {@code java -cp benchmarks.jar com.dsh105.menuapi.benchmark.EncodedSizeReport}
+ */
+public class EncodedSizeReport {
+
+    private static final Material[] MATERIALS = {Material.STONE, Material.DIRT, Material.WOOL, Material.DIAMOND, Material.IRON_INGOT, Material.BREAD};
+
+    public static void main(String[] args) {
+        StubServer.get();
+        System.out.println(String.format(Locale.ROOT, "%-10s %-18s %12s %12s", "contents", "encoding", "string", "bytes"));
+        report("full", fill(54, false));
+        report("half", fill(27, false));
+        report("named", fill(54, true));
+    }
+
+    private static Inventory fill(int filled, boolean named) {
+        Inventory inventory = Bukkit.createInventory(null, 54, "Chest");
+        for (int i = 0; i < filled; i++) {
+            Material material = MATERIALS[i % MATERIALS.length];
+            if (named) {
+                inventory.setItem(i, Icon.buildItemStack(material, 1 + i % 64, (short) (i % 4), "Item " + i, "First line", "Second line"));
+            } else {
+                inventory.setItem(i, new ItemStack(material, 1 + i % 64, (short) (i % 4)));
+            }
+        }
+        return inventory;
+    }
+
+    private static void report(String contents, Inventory inventory) {
+        for (InventoryFactory.Encoding encoding : InventoryFactory.Encoding.values()) {
+            String encoded = InventoryFactory.encodeInventory(inventory, encoding);
+            String bytes = "-";
+            if (encoding != InventoryFactory.Encoding.YAML) {
+                bytes = String.valueOf(InventoryFactory.encodeBytes(inventory, encoding == InventoryFactory.Encoding.BINARY_COMPRESSED).length);
+            }
+            System.out.println(String.format(Locale.ROOT, "%-10s %-18s %12d %12s", contents, encoding.name(), encoded.length(), bytes));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.stub.StubServer;
+import com.dsh105.menuapi.util.InventoryFactory;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding a full chest with each {@link com.dsh105.menuapi.util.InventoryFactory.Encoding}
+ * <p/>
+ * See {@link com.dsh105.menuapi.benchmark.EncodedSizeReport} for the size of each encoding
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryFactoryBenchmark {
+
+    private static final Material[] MATERIALS = {Material.STONE, Material.DIRT, Material.WOOL, Material.DIAMOND, Material.IRON_INGOT, Material.BREAD};
+
+    @Param({"YAML", "BINARY", "BINARY_COMPRESSED"})
+    public InventoryFactory.Encoding encoding;
+
+    private Inventory inventory;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        StubServer.get();
+        inventory = Bukkit.createInventory(null, 54, "Chest");
+        for (int i = 0; i < inventory.getSize(); i++) {
+            inventory.setItem(i, new ItemStack(MATERIALS[i % MATERIALS.length], 1 + i % 64, (short) (i % 4)));
+        }
+        encoded = this.encode();
+    }
+
+    @Benchmark
+    public String encode() {
+        return InventoryFactory.encodeInventory(inventory, encoding);
+    }
+
+    @Benchmark
+    public Inventory decode() {
+        return InventoryFactory.decodeString(encoded);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.CommandIcon;
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Layout;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving a full Layout to a configuration and loading it back, with and without the YAML text step
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutBenchmark {
+
+    private Layout layout;
+    private YamlConfiguration saved;
+    private String savedText;
+
+    @Setup
+    public void setUp() {
+        StubServer.get();
+        HashMap<Integer, Icon> slots = new HashMap<>();
+        for (int i = 0; i < 54; i++) {
+            slots.put(i, new CommandIcon("menuapi.slot." + i, "say " + i, Material.STONE, 1, (short) (i % 16), "&bSlot " + i, "Runs a command", "Line two"));
+        }
+        layout = new Layout(slots, 54, "Layout");
+        saved = this.save();
+        savedText = saved.saveToString();
+    }
+
+    @Benchmark
+    public YamlConfiguration save() {
+        YamlConfiguration config = new YamlConfiguration();
+        layout.saveToFile(config, "menu");
+        return config;
+    }
+
+    @Benchmark
+    public Layout load() {
+        return new Layout().loadFromFile(saved, "menu");
+    }
+
+    @Benchmark
+    public String saveToText() {
+        return this.save().saveToString();
+    }
+
+    @Benchmark
+    public Layout loadFromText() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(savedText);
+        return new Layout().loadFromFile(config, "menu");
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.CommandIcon;
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Layout;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading every Layout of a 500 layout config with {@link com.dsh105.menuapi.api.Layout#loadFromFile(org.bukkit.configuration.file.FileConfiguration, String)},
+ * which walks the keys present once, against the previous loader, which probed every slot number by path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutLoadBenchmark {
+
+    private static final int LAYOUTS = 500;
+
+    @Param({"6", "54"})
+    public int filled;
+
+    private YamlConfiguration config;
+
+    @Setup
+    public void setUp() {
+        StubServer.get();
+        config = new YamlConfiguration();
+        for (int l = 0; l < LAYOUTS; l++) {
+            HashMap<Integer, Icon> slots = new HashMap<>();
+            for (int i = 0; i < filled; i++) {
+                int slot = (i * 7 + l) % 54;
+                if (i % 2 == 0) {
+                    slots.put(slot, new CommandIcon("menuapi.slot." + i, "say " + i, Material.STONE, 1, (short) (i % 16), "&bSlot " + i, "Runs a command"));
+                } else {
+                    slots.put(slot, new Icon(Material.DIRT, 1, (short) 0, "&7Filler", "Line one", "Line two"));
+                }
+            }
+            new Layout(slots, 54, "Layout " + l).saveToFile(config, "layout-" + l);
+        }
+    }
+
+    @Benchmark
+    public int keyWalk() {
+        int loaded = 0;
+        for (int l = 0; l < LAYOUTS; l++) {
+            loaded += new Layout().loadFromFile(config, "layout-" + l).getSlots().size();
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public int pathProbing() {
+        int loaded = 0;
+        for (int l = 0; l < LAYOUTS; l++) {
+            loaded += probe(config.getConfigurationSection("layout-" + l)).size();
+        }
+        return loaded;
+    }
+
+    /**
+     * Reproduces the slot loop of the previous {@code Layout.loadFromFile}
+     */
+    private static HashMap<Integer, Icon> probe(ConfigurationSection section) {
+        HashMap<Integer, Icon> slots = new HashMap<>();
+        int size = section.getInt("size", 45);
+        ConfigurationSection slotsSection = section.getConfigurationSection("slots");
+        for (int i = 1; i <= size; i++) {
+            if (slotsSection.get("slot-" + i) != null) {
+                Icon icon;
+                ItemStack iconStack = loadItem(slotsSection, "slot-" + i + ".");
+                if (slotsSection.get("slot-" + i + ".command") != null) {
+                    icon = new CommandIcon(slotsSection.getString("slot-" + i + ".permission"), slotsSection.getString("slot-" + i + ".command"), iconStack);
+                    ((CommandIcon) icon).setChangeNameColours(slotsSection.getBoolean("slot-" + i + ".changeNameColours", true));
+                    ((CommandIcon) icon).setPerformAsConsole(slotsSection.getBoolean("slot-" + i + ".performAsConsole", false));
+                } else {
+                    icon = new Icon(loadItem(slotsSection, "slot-" + i + "."));
+                }
+                slots.put(i - 1, icon);
+            }
+        }
+        return slots;
+    }
+
+    private static ItemStack loadItem(ConfigurationSection configSection, String searchPrefix) {
+        String name = configSection.getString(searchPrefix + "name");
+        Material material = Material.getMaterial(configSection.getString(searchPrefix + "material"));
+        short materialData = (short) configSection.getInt(searchPrefix + "materialData", 0);
+        int amount = configSection.getInt(searchPrefix + "amount", 1);
+        List<String> rawLore = configSection.getStringList(searchPrefix + "lore");
+
+        String[] loreCopy = new String[rawLore.size()];
+        for (int i = 0; i < loreCopy.length; i++) {
+            loreCopy[i] = ChatColor.translateAlternateColorCodes('&', rawLore.get(i));
+        }
+        return Icon.buildItemStack(material, amount, materialData, ChatColor.translateAlternateColorCodes('&', name), loreCopy);
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.MenuAPI;
+import com.dsh105.menuapi.api.CommandIcon;
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.IconCallback;
+import com.dsh105.menuapi.api.Menu;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import com.dsh105.menuapi.util.LatencyHistogram;
+import com.dsh105.menuapi.util.MenuMetrics;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Simulates thousands of players using Menus on a stub server and reports how the menu subsystem holds up
+ * <p/>
+ * Every player repeats a script of actions, one action per server tick, for example
+ * {@code open,click:10,wait:5,click:12,close,wait:20}. As on a real server, every action runs on a single thread, so
+ * all simulated players share the tick budget. Players start at random points in the script so their actions are
+ * spread across ticks
+ * <p/>
+ * Reports throughput, tick time, allocation rate and the latency of each kind of action. Run with
+ * {@code java -cp benchmarks.jar com.dsh105.menuapi.benchmark.LoadHarness --help} for options
+ */
+public class LoadHarness {
+
+    private static final String DEFAULT_SCRIPT = "open,click:10,wait:5,click:12,wait:5,click:14,close,wait:20";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final int playerCount;
+    private final int menuCount;
+    private final int ticks;
+    private final int warmupTicks;
+    private final List<Step> script;
+    private final long seed;
+    private final boolean metrics;
+
+    private final Map<Action, LatencyHistogram> latencies = new EnumMap<>(Action.class);
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final LatencyHistogram taskLatency = new LatencyHistogram();
+    private long actions;
+
+    /**
+     * Constructs a new load harness
+     *
+     * @param playerCount Number of simulated players
+     * @param menuCount   Number of Menus the players are spread across
+     * @param ticks       Number of measured ticks to simulate
+     * @param warmupTicks Number of ticks to simulate before measuring
+     * @param script      Actions repeated by every player
+     * @param seed        Seed for the starting point of each player in the script
+     * @param metrics     True to enable {@link com.dsh105.menuapi.util.MenuMetrics} while running
+     */
+    public LoadHarness(int playerCount, int menuCount, int ticks, int warmupTicks, List<Step> script, long seed, boolean metrics) {
+        if (playerCount <= 0 || menuCount <= 0 || ticks <= 0 || warmupTicks < 0) {
+            throw new IllegalArgumentException("Players, menus and ticks must be positive.");
+        }
+        if (script.isEmpty()) {
+            throw new IllegalArgumentException("Script must contain at least one action.");
+        }
+        this.playerCount = playerCount;
+        this.menuCount = menuCount;
+        this.ticks = ticks;
+        this.warmupTicks = warmupTicks;
+        this.script = script;
+        this.seed = seed;
+        this.metrics = metrics;
+        for (Action action : Action.values()) {
+            latencies.put(action, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) {
+        int players = 2000;
+        int menus = 10;
+        int ticks = 1200;
+        int warmup = 200;
+        String script = DEFAULT_SCRIPT;
+        long seed = 105L;
+        boolean metrics = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help")) {
+                printUsage();
+                return;
+            } else if (arg.equals("--metrics")) {
+                metrics = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--players":
+                    players = Integer.parseInt(value);
+                    break;
+                case "--menus":
+                    menus = Integer.parseInt(value);
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--script":
+                    script = value;
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        new LoadHarness(players, menus, ticks, warmup, Step.parseScript(script), seed, metrics).run();
+    }
+
+    private static void printUsage() {
+        System.out.println("Options:");
+        System.out.println("  --players <n>   Simulated players (default 2000)");
+        System.out.println("  --menus <n>     Menus the players are spread across (default 10)");
+        System.out.println("  --ticks <n>     Measured server ticks (default 1200)");
+        System.out.println("  --warmup <n>    Ticks simulated before measuring (default 200)");
+        System.out.println("  --script <s>    Actions repeated by every player, one per tick (default " + DEFAULT_SCRIPT + ")");
+        System.out.println("                  open, close, click:<slot>, wait:<ticks>");
+        System.out.println("  --seed <n>      Seed for where each player starts in the script");
+        System.out.println("  --metrics       Enable MenuMetrics and print them in the Prometheus format");
+    }
+
+    /**
+     * Runs the simulation and prints a report to standard output
+     */
+    public void run() {
+        StubServer server = StubServer.get();
+        MenuMetrics.setEnabled(metrics);
+
+        List<Menu> menus = new ArrayList<>();
+        for (int i = 0; i < menuCount; i++) {
+            menus.add(createMenu(server, i));
+        }
+
+        Random random = new Random(seed);
+        List<SimulatedPlayer> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(StubPlayer.create("Player" + i), menus.get(i % menuCount));
+            player.position = random.nextInt(script.size());
+            players.add(player);
+        }
+
+        for (int tick = 0; tick < warmupTicks; tick++) {
+            this.tick(server, players, false);
+        }
+        MenuMetrics.reset();
+
+        AllocationCounter allocations = new AllocationCounter();
+        long allocatedBefore = allocations.get();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            long tickStart = System.nanoTime();
+            this.tick(server, players, true);
+            tickLatency.record(System.nanoTime() - tickStart);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocations.get() - allocatedBefore;
+
+        for (SimulatedPlayer player : players) {
+            player.player.closeInventory();
+        }
+        for (Menu menu : menus) {
+            menu.dispose();
+        }
+
+        this.report(elapsed, allocations.isSupported() ? allocated : -1);
+        if (metrics) {
+            System.out.println();
+            System.out.print(MenuMetrics.toPrometheus());
+        }
+    }
+
+    private void tick(StubServer server, List<SimulatedPlayer> players, boolean record) {
+        for (SimulatedPlayer player : players) {
+            if (player.waiting > 0) {
+                player.waiting--;
+                continue;
+            }
+            Step step = script.get(player.position);
+            player.position = (player.position + 1) % script.size();
+
+            long start = System.nanoTime();
+            switch (step.action) {
+                case OPEN:
+                    player.menu.show(player.player);
+                    break;
+                case CLICK:
+                    InventoryClickEvent event = new InventoryClickEvent(player.player.getOpenInventory(), InventoryType.SlotType.CONTAINER, step.argument, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+                    MenuAPI.getDispatcher().onInventoryClick(event);
+                    break;
+                case CLOSE:
+                    player.player.closeInventory();
+                    break;
+                case WAIT:
+                    player.waiting = step.argument - 1;
+                    break;
+            }
+            if (record) {
+                latencies.get(step.action).record(System.nanoTime() - start);
+                actions++;
+            }
+        }
+
+        long start = System.nanoTime();
+        server.runTasks();
+        if (record) {
+            taskLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private Menu createMenu(StubServer server, int index) {
+        final Menu menu = new Menu(server.getPlugin(), "Lobby " + index, 54);
+        menu.setMetricsName("lobby");
+        for (int i = 0; i < menu.getSize(); i++) {
+            if (i % 3 == 2) {
+                menu.setSlot(i, new CommandIcon("lobby.server." + i, "server lobby" + i, Material.COMPASS, "&aServer " + i, "Click to join"));
+                continue;
+            }
+
+            Icon icon = new Icon(Material.STAINED_GLASS_PANE, 1, (short) (i % 16), "Slot " + i, "Lobby " + index);
+            icon.setClose(false);
+            if (i % 3 == 0) {
+                final int slot = i;
+                icon.setCallback(new IconCallback() {
+                    @Override
+                    public void run(Player viewer) {
+                        menu.refreshSlot(slot);
+                    }
+                });
+            }
+            menu.setSlot(i, icon);
+        }
+        return menu;
+    }
+
+    private void report(long elapsed, long allocated) {
+        double seconds = elapsed / 1e9;
+        System.out.println(String.format(Locale.ROOT, "Players: %d, menus: %d, ticks: %d (after %d warmup)", playerCount, menuCount, ticks, warmupTicks));
+        System.out.println("Script: " + Step.toScript(script));
+        System.out.println(String.format(Locale.ROOT, "Elapsed: %.2f s, actions: %d, throughput: %.0f actions/s", seconds, actions, actions / seconds));
+        if (allocated >= 0) {
+            System.out.println(String.format(Locale.ROOT, "Allocated: %.1f MB/s, %.0f bytes/action", allocated / seconds / (1024 * 1024), actions == 0 ? 0D : (double) allocated / actions));
+        } else {
+            System.out.println("Allocated: not supported by this JVM");
+        }
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-8s %10s %10s %10s %10s %10s %10s", "", "count", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+        printLatency("tick", tickLatency);
+        printLatency("tasks", taskLatency);
+        for (Map.Entry<Action, LatencyHistogram> entry : latencies.entrySet()) {
+            if (entry.getKey() != Action.WAIT) {
+                printLatency(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+            }
+        }
+    }
+
+    private static void printLatency(String name, LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-8s %10d", name, snapshot.getCount()));
+        for (double quantile : QUANTILES) {
+            line.append(String.format(Locale.ROOT, " %10.1f", snapshot.getQuantile(quantile) / 1e3));
+        }
+        line.append(String.format(Locale.ROOT, " %10.1f", snapshot.getMax() / 1e3));
+        System.out.println(line);
+    }
+
+    /**
+     * Represents an action a simulated player can take
+     */
+    public enum Action {
+        OPEN, CLICK, CLOSE, WAIT
+    }
+
+    /**
+     * Represents a single step of a script
+     */
+    public static class Step {
+
+        private final Action action;
+        private final int argument;
+
+        /**
+         * Constructs a new Step
+         *
+         * @param action   Action to take
+         * @param argument Slot to click, or number of ticks to wait
+         */
+        public Step(Action action, int argument) {
+            this.action = action;
+            this.argument = argument;
+        }
+
+        /**
+         * Parses a comma separated script, such as {@code open,click:10,wait:5,close}
+         *
+         * @param script Script to parse
+         * @return Steps of the script
+         */
+        public static List<Step> parseScript(String script) {
+            List<Step> steps = new ArrayList<>();
+            for (String part : script.split(",")) {
+                String[] split = part.trim().split(":", 2);
+                Action action = Action.valueOf(split[0].trim().toUpperCase(Locale.ROOT));
+                int argument = split.length > 1 ? Integer.parseInt(split[1].trim()) : 1;
+                if ((action == Action.CLICK && (argument < 0 || argument >= 54)) || (action == Action.WAIT && argument < 1)) {
+                    throw new IllegalArgumentException("Invalid step: " + part);
+                }
+                if (action == Action.CLICK && split.length < 2) {
+                    throw new IllegalArgumentException("Click steps need a slot: " + part);
+                }
+                steps.add(new Step(action, argument));
+            }
+            return steps;
+        }
+
+        static String toScript(List<Step> steps) {
+            StringBuilder builder = new StringBuilder();
+            for (Step step : steps) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(step.action.name().toLowerCase(Locale.ROOT));
+                if (step.action == Action.CLICK || step.action == Action.WAIT) {
+                    builder.append(':').append(step.argument);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    private static class SimulatedPlayer {
+
+        private final Player player;
+        private final Menu menu;
+        private int position;
+        private int waiting;
+
+        SimulatedPlayer(Player player, Menu menu) {
+            this.player = player;
+            this.menu = menu;
+        }
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread, where the JVM supports it
+     */
+    private static class AllocationCounter {
+
+        private final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        boolean isSupported() {
+            return bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+        }
+
+        long get() {
+            if (!isSupported()) {
+                return 0;
+            }
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
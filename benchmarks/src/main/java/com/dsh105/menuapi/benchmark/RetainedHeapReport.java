@@ -0,0 +1,87 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Layout;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports the heap retained per slot holder by the array backed {@link com.dsh105.menuapi.api.SlotHolder} and by
+ * the {@code HashMap<Integer, Icon>} it replaced
+ * <p/>
+ * Every holder refers to the same Icons, so only the slot storage (plus the few other fields of a Layout) is counted.
+ * Run with
+ * {@code java -cp benchmarks.jar com.dsh105.menuapi.benchmark.RetainedHeapReport [holders]}
+ */
+public class RetainedHeapReport {
+
+    private static final int[] FILLED = {9, 27, 54};
+
+    public static void main(String[] args) throws InterruptedException {
+        int holders = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        StubServer.get();
+
+        Icon[] icons = new Icon[54];
+        for (int i = 0; i < icons.length; i++) {
+            icons[i] = new Icon(Material.STONE, "Slot " + i);
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-8s %18s %18s", "filled", "SlotHolder B/menu", "HashMap B/menu"));
+        for (int filled : FILLED) {
+            HashMap<Integer, Icon> source = new HashMap<>();
+            for (int i = 0; i < filled; i++) {
+                source.put(i, icons[i]);
+            }
+
+            List<Object> retained = new ArrayList<>(holders);
+            long before = usedHeap();
+            for (int i = 0; i < holders; i++) {
+                retained.add(new Layout(source, 54, "Holder"));
+            }
+            long layoutBytes = (usedHeap() - before) / holders;
+            retained.clear();
+
+            before = usedHeap();
+            for (int i = 0; i < holders; i++) {
+                retained.add(new HashMap<>(source));
+            }
+            long mapBytes = (usedHeap() - before) / holders;
+            retained.clear();
+
+            System.out.println(String.format(Locale.ROOT, "%-8d %18d %18d", filled, layoutBytes, mapBytes));
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
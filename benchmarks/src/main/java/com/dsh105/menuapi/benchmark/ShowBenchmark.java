@@ -0,0 +1,92 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.CommandIcon;
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Menu;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures showing a full Menu to a player and rendering it again for a player already viewing it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShowBenchmark {
+
+    @Param({"STATIC", "COMMAND"})
+    public String icons;
+
+    private Menu menu;
+    private Player viewer;
+
+    @Setup
+    public void setUp() {
+        StubServer server = StubServer.get();
+        menu = new Menu(server.getPlugin(), "Show", 54);
+        for (int i = 0; i < menu.getSize(); i++) {
+            if (icons.equals("COMMAND")) {
+                menu.setSlot(i, new CommandIcon("menuapi.slot." + i, "say " + i, Material.STONE, "Slot " + i, "Runs a command"));
+            } else {
+                menu.setSlot(i, new Icon(Material.STONE, "Slot " + i, "Does nothing"));
+            }
+        }
+        viewer = StubPlayer.create("Viewer");
+        menu.show(StubPlayer.create("Watcher"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        menu.dispose();
+    }
+
+    @Benchmark
+    public Menu showAndClose() {
+        menu.show(viewer);
+        viewer.closeInventory();
+        return menu;
+    }
+
+    @Benchmark
+    public Menu renderAll() {
+        menu.markAllDirty();
+        menu.render();
+        return menu;
+    }
+}
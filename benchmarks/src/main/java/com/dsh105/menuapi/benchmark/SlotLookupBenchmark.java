@@ -0,0 +1,81 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.benchmark;
+
+import com.dsh105.menuapi.api.Icon;
+import com.dsh105.menuapi.api.Layout;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the Icon in a clicked slot, comparing the array backed
+ * {@link com.dsh105.menuapi.api.SlotHolder} with the boxed {@code HashMap<Integer, Icon>} it replaced
+ * <p/>
+ * See {@link com.dsh105.menuapi.benchmark.RetainedHeapReport} for the heap retained by each
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SlotLookupBenchmark {
+
+    @Param({"9", "54"})
+    public int filled;
+
+    private Layout layout;
+    private HashMap<Integer, Icon> map;
+    private int slot;
+
+    @Setup
+    public void setUp() {
+        StubServer.get();
+        map = new HashMap<>();
+        for (int i = 0; i < filled; i++) {
+            map.put(i, new Icon(Material.STONE, "Slot " + i));
+        }
+        layout = new Layout(map, 54, "Lookup");
+    }
+
+    @Benchmark
+    public Icon arrayLookup() {
+        slot = (slot + 7) % 54;
+        return layout.getSlot(slot);
+    }
+
+    @Benchmark
+    public Icon hashMapLookup() {
+        slot = (slot + 7) % 54;
+        return map.get(slot);
+    }
+}
@@ -17,9 +17,77 @@
 
 package com.dsh105.menuapi;
 
+import com.dsh105.menuapi.api.MenuDispatcher;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Nothing much to see here! All Menu/Layout stuff is handled in their respective classes
+ * Entry point for the services shared by every {@link com.dsh105.menuapi.api.Menu}
+ * <p/>
+ * All Menu/Layout stuff is handled in their respective classes
  */
 public class MenuAPI {
 
+    private static final MenuDispatcher DISPATCHER = new MenuDispatcher();
+    private static ExecutorService asyncExecutor;
+
+    private MenuAPI() {
+    }
+
+    /**
+     * Gets the dispatcher responsible for routing inventory events to registered Menus
+     *
+     * @return Shared menu dispatcher
+     */
+    public static MenuDispatcher getDispatcher() {
+        return DISPATCHER;
+    }
+
+    /**
+     * Gets the executor used to run asynchronous Icon callbacks that are not given their own executor
+     * <p/>
+     * Unless set with {@link #setAsyncExecutor(java.util.concurrent.ExecutorService)}, virtual threads are used where
+     * the JVM supports them, and a pool of daemon threads otherwise
+     *
+     * @return Executor for asynchronous callbacks
+     * @see com.dsh105.menuapi.api.AsyncIconCallback
+     */
+    public static synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = createAsyncExecutor();
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets the executor used to run asynchronous Icon callbacks that are not given their own executor
+     *
+     * @param executor Executor for asynchronous callbacks, or null to use the default
+     */
+    public static synchronized void setAsyncExecutor(ExecutorService executor) {
+        asyncExecutor = executor;
+    }
+
+    private static ExecutorService createAsyncExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException ignored) {
+            // Virtual threads are not available before Java 21
+        }
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "MenuAPI Worker #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.MenuAPI;
+import com.dsh105.menuapi.util.MainThreadExecutor;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+/**
+ * Represents a callback for Icons that performs its work off the main server thread
+ * <p/>
+ * When the Icon is clicked, {@link #call(org.bukkit.entity.Player)} is run on the callback's executor. Its result is
+ * then handed back to {@link #complete(org.bukkit.entity.Player, Object)} on the main thread. While a callback is in
+ * flight for a player, further clicks by that player are either dropped or coalesced into a single follow-up run
+ *
+ * @param <T> Type of the result produced off the main thread
+ */
+public abstract class AsyncIconCallback<T> extends IconCallback {
+
+    /**
+     * Describes what happens to clicks made while a callback is already in flight for a player
+     */
+    public enum Policy {
+
+        /**
+         * Clicks are ignored
+         */
+        DROP,
+
+        /**
+         * Clicks are collapsed into a single run once the in-flight callback completes
+         */
+        COALESCE
+    }
+
+    private final Plugin plugin;
+    private final Executor executor;
+    private final Executor mainThread;
+    private final Policy policy;
+
+    private final Set<UUID> inFlight = new HashSet<>();
+    private final Set<UUID> pending = new HashSet<>();
+
+    /**
+     * Constructs a new AsyncIconCallback that runs on the executor provided by
+     * {@link com.dsh105.menuapi.MenuAPI#getAsyncExecutor()} and drops repeated clicks
+     *
+     * @param plugin Plugin instance
+     */
+    public AsyncIconCallback(Plugin plugin) {
+        this(plugin, MenuAPI.getAsyncExecutor(), Policy.DROP);
+    }
+
+    /**
+     * Constructs a new AsyncIconCallback
+     *
+     * @param plugin   Plugin instance
+     * @param executor Executor to run the callback on
+     * @param policy   What to do with clicks made while the callback is in flight
+     */
+    public AsyncIconCallback(Plugin plugin, Executor executor, Policy policy) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.mainThread = new MainThreadExecutor(plugin);
+        this.policy = policy;
+    }
+
+    /**
+     * Performs the work of the callback off the main thread
+     * <p/>
+     * Most of the Bukkit API is not safe to use from this method
+     *
+     * @param viewer Player who clicked the icon
+     * @return Result to hand to {@link #complete(org.bukkit.entity.Player, Object)}
+     * @throws Exception if the work failed
+     */
+    public abstract T call(Player viewer) throws Exception;
+
+    /**
+     * Called on the main thread with the result of {@link #call(org.bukkit.entity.Player)}
+     *
+     * @param viewer Player who clicked the icon
+     * @param result Result of the callback
+     */
+    public void complete(Player viewer, T result) {
+    }
+
+    /**
+     * Called on the main thread if {@link #call(org.bukkit.entity.Player)} failed
+     *
+     * @param viewer Player who clicked the icon
+     * @param error  Cause of the failure
+     */
+    public void fail(Player viewer, Throwable error) {
+        plugin.getLogger().log(Level.WARNING, "Asynchronous icon callback failed for " + viewer.getName(), error);
+    }
+
+    /**
+     * Gets whether a callback is currently in flight for a player
+     *
+     * @param viewer Player to check
+     * @return True if a callback is in flight
+     */
+    public boolean isInFlight(Player viewer) {
+        return inFlight.contains(viewer.getUniqueId());
+    }
+
+    @Override
+    public final void run(Player viewer) {
+        UUID id = viewer.getUniqueId();
+        if (!inFlight.add(id)) {
+            if (policy == Policy.COALESCE) {
+                pending.add(id);
+            }
+            return;
+        }
+        submit(viewer);
+    }
+
+    private void submit(final Player viewer) {
+        final UUID id = viewer.getUniqueId();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    T result = null;
+                    Throwable error = null;
+                    try {
+                        result = call(viewer);
+                    } catch (Throwable e) {
+                        error = e;
+                    }
+                    handOff(viewer, result, error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(id);
+            pending.remove(id);
+            fail(viewer, e);
+        }
+    }
+
+    private void handOff(final Player viewer, final T result, final Throwable error) {
+        mainThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                UUID id = viewer.getUniqueId();
+                try {
+                    if (error != null) {
+                        fail(viewer, error);
+                    } else {
+                        complete(viewer, result);
+                    }
+                } finally {
+                    if (pending.remove(id) && viewer.isOnline()) {
+                        submit(viewer);
+                    } else {
+                        inFlight.remove(id);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.dsh105.menuapi.api;
 
+import com.dsh105.menuapi.util.PermissionCache;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -25,6 +26,9 @@ import org.bukkit.inventory.ItemStack;
 
 /**
  * Represents a command based Icon
+ * <p/>
+ * The permitted and denied variants of a command based Icon are built once and reused for every player, so that only
+ * the permission check is performed each time the Icon is rendered
  */
 public class CommandIcon extends Icon {
 
@@ -34,6 +38,10 @@ public class CommandIcon extends Icon {
     private boolean changeNameColours = true;
     private boolean performAsConsole;
 
+    private PermissionCache permissionCache;
+    private ItemStack permittedIcon;
+    private ItemStack deniedIcon;
+
     /**
      * Constructs a command based Icon for a Menu
      *
@@ -183,6 +191,7 @@ public class CommandIcon extends Icon {
      */
     public void setChangeNameColours(boolean changeNameColours) {
         this.changeNameColours = changeNameColours;
+        this.invalidate();
     }
 
     /**
@@ -203,13 +212,69 @@ public class CommandIcon extends Icon {
         this.performAsConsole = performAsConsole;
     }
 
+    /**
+     * Gets the cache used for permission checks when rendering this Icon
+     *
+     * @return Permission cache, or null if permissions are checked every time
+     */
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Sets the cache used for permission checks when rendering this Icon
+     * <p/>
+     * A single cache may be shared between many Icons
+     *
+     * @param permissionCache Permission cache, or null to check permissions every time
+     */
+    public void setPermissionCache(PermissionCache permissionCache) {
+        this.permissionCache = permissionCache;
+    }
+
+    /**
+     * Checks whether a player has the permission required to run the command
+     *
+     * @param viewer Player to check
+     * @return True if the player is permitted to run the command
+     */
+    public boolean isPermitted(Player viewer) {
+        if (this.permission == null) {
+            return true;
+        }
+        return permissionCache != null ? permissionCache.hasPermission(viewer, this.permission) : viewer.hasPermission(this.permission);
+    }
+
+    @Override
+    protected void invalidate() {
+        super.invalidate();
+        this.permittedIcon = null;
+        this.deniedIcon = null;
+    }
+
     @Override
     public ItemStack getIcon(Player viewer) {
-        String finalName = this.getName();
-        if (willChangeNameColours()) {
-            finalName = ((this.permission == null ? true : viewer.hasPermission(this.permission)) ? ChatColor.GREEN : ChatColor.RED) + ChatColor.stripColor(this.getName());
+        if (!willChangeNameColours()) {
+            return getIcon();
+        }
+        if (isPermitted(viewer)) {
+            if (permittedIcon == null) {
+                permittedIcon = buildVariant(ChatColor.GREEN);
+            }
+            return permittedIcon;
+        }
+        if (deniedIcon == null) {
+            deniedIcon = buildVariant(ChatColor.RED);
+        }
+        return deniedIcon;
+    }
+
+    private ItemStack buildVariant(ChatColor colour) {
+        String name = colour + ChatColor.stripColor(this.getName());
+        if (isShared()) {
+            return ItemStackPool.intern(this.getMaterial(), this.getAmount(), this.getMaterialData(), name, this.getLore());
         }
-        return buildItemStack(this.getMaterial(), this.getAmount(), this.getMaterialData(), finalName, this.getLore());
+        return buildItemStack(this.getMaterial(), this.getAmount(), this.getMaterialData(), name, this.getLore());
     }
 
     @Override
@@ -17,6 +17,7 @@
 
 package com.dsh105.menuapi.api;
 
+import com.dsh105.menuapi.util.ClickLimiter;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -24,6 +25,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents an Icon that appears in a {@link com.dsh105.menuapi.api.Menu}
@@ -32,6 +35,8 @@ import java.util.List;
  */
 public class Icon {
 
+    private static final Map<Class<?>, Boolean> VIEWER_DEPENDENT = new ConcurrentHashMap<>();
+
     private ItemStack itemStack;
     private Material material;
     private short materialData;
@@ -40,8 +45,11 @@ public class Icon {
     private String[] lore;
 
     private IconCallback callback;
+    private ClickLimiter clickLimiter;
+    private RenderMode renderMode;
 
     private boolean close = true;
+    private boolean shared;
 
     protected Icon() {
 
@@ -139,7 +147,7 @@ public class Icon {
      */
     public void setMaterial(Material material) {
         this.material = material;
-        this.itemStack = null;
+        this.invalidate();
     }
 
     /**
@@ -158,7 +166,7 @@ public class Icon {
      */
     public void setMaterialData(short materialData) {
         this.materialData = materialData;
-        this.itemStack = null;
+        this.invalidate();
     }
 
     /**
@@ -177,7 +185,7 @@ public class Icon {
      */
     public void setAmount(int amount) {
         this.amount = amount;
-        this.itemStack = null;
+        this.invalidate();
     }
 
     /**
@@ -196,7 +204,7 @@ public class Icon {
      */
     public void setName(String name) {
         this.name = name;
-        this.itemStack = null;
+        this.invalidate();
     }
 
     /**
@@ -215,17 +223,53 @@ public class Icon {
      */
     public void setLore(String... lore) {
         this.lore = lore;
+        this.invalidate();
+    }
+
+    /**
+     * Discards any {@link org.bukkit.inventory.ItemStack} rendered for an Icon so that it is rebuilt when next requested
+     * <p/>
+     * Called whenever the appearance of an Icon is changed
+     */
+    protected void invalidate() {
         this.itemStack = null;
     }
 
+    /**
+     * Gets whether an Icon is rendered using an ItemStack shared with identical Icons
+     * <p/>
+     * Sharing is opt-in. Shared Icons are rendered through the {@link com.dsh105.menuapi.api.ItemStackPool}, and
+     * {@link #getIcon()} then returns the interned ItemStack itself, which must not be modified
+     *
+     * @return True if the Icon uses a shared ItemStack
+     */
+    public boolean isShared() {
+        return shared && ItemStackPool.isEnabled();
+    }
+
+    /**
+     * Sets whether an Icon is rendered using an ItemStack shared with identical Icons
+     * <p/>
+     * Only enable sharing for Icons whose ItemStack is never modified by callers of {@link #getIcon()}
+     *
+     * @param shared True if the Icon is to use a shared ItemStack
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+        this.invalidate();
+    }
+
     /**
      * Gets the {@link org.bukkit.inventory.ItemStack} that represents an Icon
+     * <p/>
+     * Unless sharing has been enabled with {@link #setShared(boolean)}, the returned ItemStack belongs to this Icon
+     * alone
      *
      * @return Type of an Icon
      */
     public ItemStack getIcon() {
         if (itemStack == null) {
-            itemStack = buildItemStack(this.material, this.amount, this.materialData, this.name, this.lore);
+            itemStack = isShared() ? ItemStackPool.intern(this.material, this.amount, this.materialData, this.name, this.lore) : buildItemStack(this.material, this.amount, this.materialData, this.name, this.lore);
         }
         return itemStack;
     }
@@ -242,6 +286,56 @@ public class Icon {
         return getIcon();
     }
 
+    /**
+     * Gets how often the {@link org.bukkit.inventory.ItemStack} that represents an Icon needs to be rendered
+     * <p/>
+     * Unless set with {@link #setRenderMode(RenderMode)}, an Icon is {@link com.dsh105.menuapi.api.RenderMode#PER_VIEWER}
+     * if its class overrides {@link #getIcon(org.bukkit.entity.Player)} or {@link #getIcon()}, and
+     * {@link com.dsh105.menuapi.api.RenderMode#STATIC} if not
+     *
+     * @return Render mode of an Icon
+     */
+    public RenderMode getRenderMode() {
+        if (renderMode != null) {
+            return renderMode;
+        }
+        return overridesRendering(getClass()) ? RenderMode.PER_VIEWER : RenderMode.STATIC;
+    }
+
+    /**
+     * Sets how often the {@link org.bukkit.inventory.ItemStack} that represents an Icon needs to be rendered
+     *
+     * @param renderMode New render mode, or null to determine it from the class of an Icon
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+    }
+
+    /**
+     * Gets whether the {@link org.bukkit.inventory.ItemStack} that represents an Icon may differ between players
+     * <p/>
+     * Icons that are not viewer dependent are rendered once and reused by a {@link com.dsh105.menuapi.api.Menu} until
+     * they change
+     *
+     * @return True if the Icon must be rendered separately for each player
+     */
+    public boolean isViewerDependent() {
+        return getRenderMode() != RenderMode.STATIC;
+    }
+
+    private static boolean overridesRendering(Class<?> type) {
+        Boolean overrides = VIEWER_DEPENDENT.get(type);
+        if (overrides == null) {
+            try {
+                overrides = type.getMethod("getIcon", Player.class).getDeclaringClass() != Icon.class || type.getMethod("getIcon").getDeclaringClass() != Icon.class;
+            } catch (NoSuchMethodException e) {
+                overrides = true;
+            }
+            VIEWER_DEPENDENT.put(type, overrides);
+        }
+        return overrides;
+    }
+
     /**
      * Gets whether the {@link com.dsh105.menuapi.api.Menu} an Icon is added to will close when an Icon is clicked
      *
@@ -263,7 +357,8 @@ public class Icon {
     /**
      * Sets the callback for an Icon
      * <p/>
-     * Callbacks are executed when the icon is clicked by a player
+     * Callbacks are executed when the icon is clicked by a player. Callbacks performing slow work, such as database
+     * access, should extend {@link com.dsh105.menuapi.api.AsyncIconCallback} to avoid blocking the main thread
      *
      * @param callback Callback
      */
@@ -271,6 +366,26 @@ public class Icon {
         this.callback = callback;
     }
 
+    /**
+     * Gets the limiter applied to clicks on an Icon
+     *
+     * @return Click limiter, or null if clicks are not limited
+     */
+    public ClickLimiter getClickLimiter() {
+        return clickLimiter;
+    }
+
+    /**
+     * Sets the limiter applied to clicks on an Icon
+     * <p/>
+     * Rejected clicks are cancelled without calling an {@link com.dsh105.menuapi.api.event.IconClickEvent}
+     *
+     * @param clickLimiter Click limiter, or null to not limit clicks
+     */
+    public void setClickLimiter(ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+    }
+
     /**
      * Called when an Icon is clicked by a player viewing a Menu
      *
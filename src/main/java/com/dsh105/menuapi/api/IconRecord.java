@@ -0,0 +1,154 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.apache.commons.lang.Validate;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+
+/**
+ * Intermediate form of a saved {@link com.dsh105.menuapi.api.Icon}, read from storage before any Icon or ItemStack is
+ * built
+ */
+class IconRecord {
+
+    Material material;
+    short materialData;
+    int amount = 1;
+    String name;
+    String[] lore = new String[0];
+
+    String command;
+    String permission;
+    boolean changeNameColours = true;
+    boolean performAsConsole;
+
+    /**
+     * Creates a record describing an existing Icon
+     *
+     * @param icon Icon to describe
+     * @return Record describing the Icon
+     */
+    static IconRecord of(Icon icon) {
+        IconRecord record = new IconRecord();
+        record.material = icon.getMaterial();
+        record.materialData = icon.getMaterialData();
+        record.amount = icon.getAmount();
+        record.name = icon.getName();
+        if (icon.getLore() != null) {
+            record.lore = icon.getLore();
+        }
+        if (icon instanceof CommandIcon) {
+            CommandIcon commandIcon = (CommandIcon) icon;
+            record.command = commandIcon.getCommand();
+            record.permission = commandIcon.getPermission();
+            record.changeNameColours = commandIcon.willChangeNameColours();
+            record.performAsConsole = commandIcon.willPerformAsConsole();
+        }
+        return record;
+    }
+
+    /**
+     * Creates a record describing an existing ItemStack
+     *
+     * @param itemStack ItemStack to describe
+     * @return Record describing the ItemStack
+     */
+    static IconRecord of(ItemStack itemStack) {
+        IconRecord record = new IconRecord();
+        record.material = itemStack.getType();
+        record.materialData = itemStack.getDurability();
+        record.amount = itemStack.getAmount();
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta != null) {
+            record.name = meta.getDisplayName();
+            List<String> lore = meta.getLore();
+            if (lore != null) {
+                record.lore = lore.toArray(new String[lore.size()]);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Reads an item saved by {@link com.dsh105.menuapi.api.Layout#saveItem(org.bukkit.inventory.ItemStack,
+     * org.bukkit.configuration.ConfigurationSection, String)}, along with any command saved alongside it
+     *
+     * @param section      Section to read from
+     * @param searchPrefix Prefix of the keys to read
+     * @return Parsed record
+     */
+    static IconRecord parse(ConfigurationSection section, String searchPrefix) {
+        IconRecord record = new IconRecord();
+        String name = section.getString(searchPrefix + "name");
+        String material = section.getString(searchPrefix + "material");
+        List<String> rawLore = section.getStringList(searchPrefix + "lore");
+
+        Validate.notNull(name, String.format(Layout.LOAD_FAIL_MESSAGE, "Item config section located, but item name was not found!", section.getCurrentPath() + "." + searchPrefix));
+        record.material = material == null ? null : Material.getMaterial(material);
+        Validate.notNull(record.material, String.format(Layout.LOAD_FAIL_MESSAGE, "Item config section located, but item material was not found!", section.getCurrentPath() + "." + searchPrefix));
+        Validate.notNull(rawLore, String.format(Layout.LOAD_FAIL_MESSAGE, "Item config section located, but item lore was not found!", section.getCurrentPath() + "." + searchPrefix));
+
+        record.name = ChatColor.translateAlternateColorCodes('&', name);
+        record.materialData = (short) section.getInt(searchPrefix + "materialData", 0);
+        record.amount = section.getInt(searchPrefix + "amount", 1);
+        record.lore = new String[rawLore.size()];
+        for (int i = 0; i < record.lore.length; i++) {
+            record.lore[i] = ChatColor.translateAlternateColorCodes('&', rawLore.get(i));
+        }
+
+        record.command = section.getString(searchPrefix + "command");
+        if (record.command != null) {
+            record.permission = section.getString(searchPrefix + "permission");
+            record.changeNameColours = section.getBoolean(searchPrefix + "changeNameColours", true);
+            record.performAsConsole = section.getBoolean(searchPrefix + "performAsConsole", false);
+        }
+        return record;
+    }
+
+    /**
+     * Builds the ItemStack described by this record
+     *
+     * @return Constructed ItemStack
+     */
+    ItemStack toItemStack() {
+        return Icon.buildItemStack(material, amount, materialData, name, lore);
+    }
+
+    /**
+     * Builds the Icon described by this record
+     * <p/>
+     * The ItemStack representing the Icon is not built until it is first rendered
+     *
+     * @return Constructed Icon
+     */
+    Icon toIcon() {
+        if (command != null) {
+            CommandIcon icon = new CommandIcon(permission, command, material, amount, materialData, name, lore);
+            icon.setChangeNameColours(changeNameColours);
+            icon.setPerformAsConsole(performAsConsole);
+            return icon;
+        }
+        return new Icon(material, amount, materialData, name, lore);
+    }
+}
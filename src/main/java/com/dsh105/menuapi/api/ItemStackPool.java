@@ -0,0 +1,160 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns the {@link org.bukkit.inventory.ItemStack}s rendered for {@link com.dsh105.menuapi.api.Icon}s, so that
+ * identical Icons across all Menus share a single ItemStack
+ * <p/>
+ * Only Icons that opt in through {@link com.dsh105.menuapi.api.Icon#setShared(boolean)} are interned
+ * <p/>
+ * ItemStacks are keyed by material, data, amount, name and lore, and are only weakly referenced by the pool. Interned
+ * ItemStacks are shared and must not be modified
+ */
+public class ItemStackPool {
+
+    private static final Map<Key, Entry> pool = new HashMap<>();
+    private static final ReferenceQueue<ItemStack> collected = new ReferenceQueue<>();
+    private static volatile boolean enabled = true;
+
+    private ItemStackPool() {
+    }
+
+    /**
+     * Gets whether Icons share interned ItemStacks
+     *
+     * @return True if interning is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether Icons share interned ItemStacks
+     * <p/>
+     * Only affects ItemStacks rendered after the change
+     *
+     * @param enabled True if interning is to be enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        ItemStackPool.enabled = enabled;
+    }
+
+    /**
+     * Gets a shared ItemStack built from the given information, building it if necessary
+     *
+     * @param material     Type of item
+     * @param amount       Amount of the item
+     * @param materialData Item data
+     * @param name         Name of item
+     * @param lore         Item description
+     * @return Shared ItemStack
+     * @see com.dsh105.menuapi.api.Icon#buildItemStack(org.bukkit.Material, int, short, String, String...)
+     */
+    public static synchronized ItemStack intern(Material material, int amount, short materialData, String name, String... lore) {
+        expunge();
+        Key key = new Key(material, amount, materialData, name, lore);
+        Entry entry = pool.get(key);
+        ItemStack itemStack = entry == null ? null : entry.get();
+        if (itemStack == null) {
+            itemStack = Icon.buildItemStack(material, amount, materialData, name, key.lore);
+            pool.put(key, new Entry(key, itemStack, collected));
+        }
+        return itemStack;
+    }
+
+    /**
+     * Gets the number of ItemStacks currently interned
+     *
+     * @return Number of interned ItemStacks
+     */
+    public static synchronized int size() {
+        expunge();
+        return pool.size();
+    }
+
+    private static void expunge() {
+        Entry entry;
+        while ((entry = (Entry) collected.poll()) != null) {
+            if (pool.get(entry.key) == entry) {
+                pool.remove(entry.key);
+            }
+        }
+    }
+
+    private static class Entry extends WeakReference<ItemStack> {
+
+        private final Key key;
+
+        private Entry(Key key, ItemStack itemStack, ReferenceQueue<ItemStack> queue) {
+            super(itemStack, queue);
+            this.key = key;
+        }
+    }
+
+    private static class Key {
+
+        private final Material material;
+        private final int amount;
+        private final short materialData;
+        private final String name;
+        private final String[] lore;
+        private final int hash;
+
+        private Key(Material material, int amount, short materialData, String name, String[] lore) {
+            this.material = material;
+            this.amount = amount;
+            this.materialData = materialData;
+            this.name = name;
+            this.lore = lore == null ? new String[0] : lore.clone();
+
+            int hash = material == null ? 0 : material.hashCode();
+            hash = 31 * hash + amount;
+            hash = 31 * hash + materialData;
+            hash = 31 * hash + (name == null ? 0 : name.hashCode());
+            this.hash = 31 * hash + Arrays.hashCode(this.lore);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && material == other.material && amount == other.amount && materialData == other.materialData
+                    && (name == null ? other.name == null : name.equals(other.name)) && Arrays.equals(lore, other.lore);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
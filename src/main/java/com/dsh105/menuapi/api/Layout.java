@@ -17,25 +17,30 @@
 
 package com.dsh105.menuapi.api;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import org.apache.commons.lang.Validate;
 import org.bukkit.ChatColor;
-import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
+import java.io.File;
 import java.util.HashMap;
-import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a Layout that can be used to create persistent Menus
  * <p/>
- * Saving and loading from files is done using the Bukkit Config API
+ * Saving and loading from files is done using the Bukkit Config API, either on the calling thread or on a worker
+ * executor using the asynchronous variants
  */
 public class Layout extends SlotHolder {
 
-    private static final String LOAD_FAIL_MESSAGE = "Invalid Menu configuration. %s. Path: %s";
+    static final String LOAD_FAIL_MESSAGE = "Invalid Menu configuration. %s. Path: %s";
 
     public Layout() {
     }
@@ -189,7 +194,7 @@ public class Layout extends SlotHolder {
         Validate.notNull(section.get("slots"), String.format(LOAD_FAIL_MESSAGE, "Inventory size not found!", section.getCurrentPath()));
         Validate.notNull(section.get("title"), String.format(LOAD_FAIL_MESSAGE, "Menu name not found!", section.getCurrentPath()));
 
-        this.size = section.getInt("size", 45);
+        this.setSize(section.getInt("size", 45));
         this.title = ChatColor.translateAlternateColorCodes('&', section.getString("title", "Menu"));
 
         ConfigurationSection clickItemSection = section.getConfigurationSection("item");
@@ -198,24 +203,153 @@ public class Layout extends SlotHolder {
         }
 
         ConfigurationSection slotsSection = section.getConfigurationSection("slots");
-        for (int i = 1; i <= getSize(); i++) { // Account for people who don't know about '0' being the first. Use '1' instead
-            if (slotsSection.get("slot-" + i) != null) {
-                Icon icon;
-                ItemStack iconStack = this.loadItem(slotsSection, "slot-" + i + ".");
-                if (slotsSection.get("slot-" + i + ".command") != null) {
-                    icon = new CommandIcon(slotsSection.getString("slot-" + i + ".command"), slotsSection.getString("slot-" + i + ".permission"), iconStack);
-                    ((CommandIcon) icon).setChangeNameColours(slotsSection.getBoolean("slot-" + i + ".changeNameColours", true));
-                    ((CommandIcon) icon).setPerformAsConsole(slotsSection.getBoolean("slot-" + i + ".performAsConsole", false));
-                } else {
-                    icon = new Icon(this.loadItem(slotsSection, "slot-" + i + "."));
-                }
-                this.setSlot(i - 1, icon);
+        for (String key : slotsSection.getKeys(false)) {
+            int slot = parseSlotKey(key);
+            if (slot < 1 || slot > getSize()) { // Account for people who don't know about '0' being the first. Use '1' instead
+                continue;
+            }
+            ConfigurationSection slotSection = slotsSection.getConfigurationSection(key);
+            if (slotSection != null) {
+                this.setSlot(slot - 1, IconRecord.parse(slotSection, "").toIcon());
             }
         }
 
         return this;
     }
 
+    private static int parseSlotKey(String key) {
+        if (!key.startsWith("slot-")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(key.substring(5));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Save a Layout to a file without blocking the calling thread
+     * <p/>
+     * The Layout is written to the given config on the calling thread, after which the config is written to disk on
+     * the worker executor. The config should not be modified until the returned future completes
+     *
+     * @param config      Config to save to
+     * @param sectionName Section to save the data under
+     * @param file        File to write the config to
+     * @param worker      Executor to write the file on
+     * @return Future completed once the file has been written
+     */
+    public ListenableFuture<Layout> saveToFileAsync(final FileConfiguration config, String sectionName, final File file, Executor worker) {
+        this.saveToFile(config, sectionName);
+        final SettableFuture<Layout> future = SettableFuture.create();
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    config.save(file);
+                    future.set(Layout.this);
+                } catch (Throwable e) {
+                    future.setException(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Load a saved Layout from a file without blocking the calling thread
+     * <p/>
+     * The file is parsed, and the Layout validated and built, on the worker executor
+     *
+     * @param file        File to load from
+     * @param sectionName Section to load the data from
+     * @param worker      Executor to load the Layout on
+     * @return Future completed with the loaded Layout
+     */
+    public static ListenableFuture<Layout> loadAsync(final File file, final String sectionName, Executor worker) {
+        final SettableFuture<Layout> future = SettableFuture.create();
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    YamlConfiguration config = new YamlConfiguration();
+                    config.load(file);
+                    future.set(load(config, sectionName));
+                } catch (Throwable e) {
+                    future.setException(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Load a saved Layout from an already parsed configuration without blocking the calling thread
+     * <p/>
+     * The Layout is validated and built on the worker executor. The config should not be modified until the returned
+     * future completes
+     *
+     * @param config      Config to load from
+     * @param sectionName Section to load the data from
+     * @param worker      Executor to load the Layout on
+     * @return Future completed with the loaded Layout
+     */
+    public static ListenableFuture<Layout> loadAsync(final FileConfiguration config, final String sectionName, Executor worker) {
+        final SettableFuture<Layout> future = SettableFuture.create();
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.set(load(config, sectionName));
+                } catch (Throwable e) {
+                    future.setException(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Load a saved Layout from a file and create a {@link com.dsh105.menuapi.api.Menu} from it without blocking the
+     * calling thread
+     * <p/>
+     * The file is parsed and the Layout built on the worker executor. Only the creation of the Menu is performed on the
+     * main thread executor (see {@link com.dsh105.menuapi.util.MainThreadExecutor})
+     *
+     * @param plugin      Plugin to create the Menu for
+     * @param file        File to load from
+     * @param sectionName Section to load the data from
+     * @param worker      Executor to load the Layout on
+     * @param mainThread  Executor to create the Menu on
+     * @return Future completed with the created Menu
+     */
+    public static ListenableFuture<Menu> loadMenuAsync(final Plugin plugin, File file, String sectionName, Executor worker, final Executor mainThread) {
+        final ListenableFuture<Layout> layoutFuture = loadAsync(file, sectionName, worker);
+        final SettableFuture<Menu> future = SettableFuture.create();
+        layoutFuture.addListener(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.set(layoutFuture.get().toMenu(plugin));
+                } catch (ExecutionException e) {
+                    future.setException(e.getCause());
+                } catch (Throwable e) {
+                    future.setException(e);
+                }
+            }
+        }, mainThread);
+        return future;
+    }
+
+    private static Layout load(FileConfiguration config, String sectionName) {
+        Layout layout = new Layout().loadFromFile(config, sectionName);
+        if (layout == null) {
+            throw new IllegalArgumentException(String.format(LOAD_FAIL_MESSAGE, "Section not found!", sectionName));
+        }
+        return layout;
+    }
+
     /**
      * Move a saved Layout from one configuration file to another
      * <p/>
@@ -252,22 +386,7 @@ public class Layout extends SlotHolder {
     }
 
     public ItemStack loadItem(ConfigurationSection configSection, String searchPrefix) {
-        String name = configSection.getString(searchPrefix + "name");
-        Material material = Material.getMaterial(configSection.getString(searchPrefix + "material"));
-        short materialData = (short) configSection.getInt(searchPrefix + "materialData", 0);
-        int amount = configSection.getInt(searchPrefix + "amount", 1);
-        List<String> rawLore = configSection.getStringList(searchPrefix + "lore");
-
-        Validate.notNull(name, String.format(LOAD_FAIL_MESSAGE, "Item config section located, but item name was not found!", configSection.getCurrentPath() + "." + searchPrefix));
-        Validate.notNull(material, String.format(LOAD_FAIL_MESSAGE, "Item config section located, but item material was not found!", configSection.getCurrentPath() + "." + searchPrefix));
-        Validate.notNull(rawLore, String.format(LOAD_FAIL_MESSAGE, "Item config section located, but item lore was not found!", configSection.getCurrentPath() + "." + searchPrefix));
-
-        String[] loreCopy = new String[rawLore.size()];
-        for (int i = 0; i < loreCopy.length; i++) {
-            loreCopy[i] = ChatColor.translateAlternateColorCodes('&', rawLore.get(i));
-        }
-
-        return Icon.buildItemStack(material, amount, materialData, ChatColor.translateAlternateColorCodes('&', name), loreCopy);
+        return IconRecord.parse(configSection, searchPrefix).toItemStack();
     }
 
     public void saveItem(ItemStack toSave, ConfigurationSection configSection, String searchPrefix) {
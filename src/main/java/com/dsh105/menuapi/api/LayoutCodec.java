@@ -0,0 +1,395 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes and decodes {@link com.dsh105.menuapi.api.Layout}s in a compact, versioned binary form
+ * <p/>
+ * Each encoded Layout is preceded by a header holding a magic number, the format version and the length of the
+ * encoded data, so several Layouts may be written to and read from the same channel in sequence. The encoded data
+ * starts with the name of the configuration section the Layout was loaded from, if any. The binary form is
+ * intended as a cache of Layouts saved with {@link com.dsh105.menuapi.api.Layout#saveToFile(org.bukkit.configuration.file.FileConfiguration)}
+ * (see {@link #loadCached(java.io.File, String, java.io.File)}), and holds the same information
+ */
+public class LayoutCodec {
+
+    /**
+     * Magic number at the start of every encoded Layout ("MAPI")
+     */
+    public static final int MAGIC = 0x4D415049;
+
+    /**
+     * Current version of the binary format
+     */
+    public static final byte VERSION = 2;
+
+    static final int HEADER_LENGTH = 9;
+
+    /**
+     * Largest accepted length of the data of a single encoded Layout
+     */
+    static final int MAX_LENGTH = 1 << 24;
+
+    private static final int MAX_SIZE = 54;
+
+    private static final int FLAG_CLOSE = 1;
+    private static final int FLAG_COMMAND = 1 << 1;
+    private static final int FLAG_CHANGE_NAME_COLOURS = 1 << 2;
+    private static final int FLAG_PERFORM_AS_CONSOLE = 1 << 3;
+
+    private LayoutCodec() {
+    }
+
+    /**
+     * Writes a Layout to a channel
+     *
+     * @param layout  Layout to write
+     * @param channel Channel to write to
+     * @throws java.io.IOException if the Layout could not be written
+     * @throws java.lang.IllegalArgumentException if the Layout cannot be encoded (see {@link #encode(Layout)})
+     */
+    public static void write(Layout layout, WritableByteChannel channel) throws IOException {
+        write(layout, null, channel);
+    }
+
+    private static void write(Layout layout, String sectionName, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(encode(layout, sectionName));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads a Layout from a channel
+     * <p/>
+     * Only the bytes of a single encoded Layout are consumed from the channel
+     *
+     * @param channel Channel to read from
+     * @return Decoded Layout, or null if the channel has no more data
+     * @throws java.io.IOException if the data could not be read or is not a valid encoded Layout
+     */
+    public static Layout read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer body = readBody(channel);
+        if (body == null) {
+            return null;
+        }
+        readString(body); // Section name
+        return decodeBody(body);
+    }
+
+    private static ByteBuffer readBody(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        if (!readFully(channel, header, true)) {
+            return null;
+        }
+        header.flip();
+        ByteBuffer body = ByteBuffer.allocate(readHeader(header));
+        readFully(channel, body, false);
+        body.flip();
+        return body;
+    }
+
+    /**
+     * Encodes a Layout, including its header
+     *
+     * @param layout Layout to encode
+     * @return Encoded Layout
+     * @throws java.io.IOException if the Layout could not be encoded
+     * @throws java.lang.IllegalArgumentException if the Layout is larger than 54 slots or holds an Icon without a
+     *                                            material, neither of which could be decoded again
+     */
+    public static byte[] encode(Layout layout) throws IOException {
+        return encode(layout, null);
+    }
+
+    private static byte[] encode(Layout layout, String sectionName) throws IOException {
+        if (layout.getSize() < 0 || layout.getSize() > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid layout size: " + layout.getSize());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(0); // Length, filled in below
+
+        writeString(out, sectionName);
+        out.writeInt(layout.getSize());
+        writeString(out, layout.getTitle());
+        ItemStack clickItem = layout.getClickItem();
+        out.writeBoolean(clickItem != null);
+        if (clickItem != null) {
+            writeItem(out, IconRecord.of(clickItem));
+        }
+
+        out.writeInt(layout.occupied.cardinality());
+        for (int i = layout.occupied.nextSetBit(0); i >= 0; i = layout.occupied.nextSetBit(i + 1)) {
+            Icon icon = layout.getSlot(i);
+            IconRecord record = IconRecord.of(icon);
+            out.writeInt(i);
+            writeItem(out, record);
+
+            int flags = icon.willClose() ? FLAG_CLOSE : 0;
+            if (record.command != null) {
+                flags |= FLAG_COMMAND;
+                flags |= record.changeNameColours ? FLAG_CHANGE_NAME_COLOURS : 0;
+                flags |= record.performAsConsole ? FLAG_PERFORM_AS_CONSOLE : 0;
+            }
+            out.writeByte(flags);
+            if (record.command != null) {
+                writeString(out, record.command);
+                writeString(out, record.permission);
+            }
+        }
+        out.flush();
+
+        byte[] encoded = bytes.toByteArray();
+        if (encoded.length - HEADER_LENGTH > MAX_LENGTH) {
+            throw new IllegalArgumentException("Encoded layout is too long: " + (encoded.length - HEADER_LENGTH) + " bytes");
+        }
+        ByteBuffer.wrap(encoded, 5, 4).putInt(encoded.length - HEADER_LENGTH);
+        return encoded;
+    }
+
+    /**
+     * Decodes a Layout, including its header, from a buffer
+     * <p/>
+     * The position of the buffer is advanced past the encoded Layout
+     *
+     * @param buffer Buffer to decode from
+     * @return Decoded Layout
+     * @throws java.io.IOException if the data is not a valid encoded Layout
+     */
+    public static Layout decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Incomplete layout header.");
+        }
+        int length = readHeader(buffer);
+        if (buffer.remaining() < length) {
+            throw new EOFException("Incomplete layout data.");
+        }
+        ByteBuffer body = buffer.slice();
+        body.limit(length);
+        buffer.position(buffer.position() + length);
+        readString(body); // Section name
+        return decodeBody(body);
+    }
+
+    /**
+     * Loads a Layout saved in a YAML file, using a binary cache of it where possible
+     * <p/>
+     * The cache is used if it was modified after the YAML file and was written for the same section. Otherwise,
+     * including when the cache cannot be decoded, the YAML file is loaded and the cache is rewritten. A cache modified
+     * at the same time as the YAML file is not trusted, as file systems may only record modification times to the
+     * second
+     *
+     * @param yamlFile    YAML file the Layout was saved to
+     * @param sectionName Section the Layout was saved under
+     * @param cacheFile   File holding the binary cache
+     * @return Loaded Layout, or null if the section does not exist
+     * @throws java.io.IOException if the YAML file could not be read
+     * @throws org.bukkit.configuration.InvalidConfigurationException if the YAML file is not valid
+     */
+    public static Layout loadCached(File yamlFile, String sectionName, File cacheFile) throws IOException, InvalidConfigurationException {
+        if (cacheFile.exists() && cacheFile.lastModified() > yamlFile.lastModified()) {
+            try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer body = readBody(channel);
+                if (body != null && equal(sectionName, readString(body))) {
+                    return decodeBody(body);
+                }
+            } catch (IOException ignored) {
+                // Fall back to the YAML file and rewrite the cache
+            }
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(yamlFile);
+        Layout layout = new Layout().loadFromFile(config, sectionName);
+        if (layout != null) {
+            try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(layout, sectionName, channel);
+            }
+        }
+        return layout;
+    }
+
+    private static int readHeader(ByteBuffer buffer) throws IOException {
+        int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not an encoded layout.");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported layout format version: " + version);
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Invalid layout length: " + length);
+        }
+        return length;
+    }
+
+    private static boolean equal(String first, String second) {
+        return first == null || first.isEmpty() ? second == null || second.isEmpty() : first.equals(second);
+    }
+
+    /**
+     * Decodes the data of a Layout following its section name
+     * <p/>
+     * Every length and count is checked against the data remaining, and any malformed data is reported as an
+     * IOException
+     */
+    private static Layout decodeBody(ByteBuffer buffer) throws IOException {
+        try {
+            return decodeLayout(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Incomplete layout data.");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid layout data: " + e.getMessage(), e);
+        }
+    }
+
+    private static Layout decodeLayout(ByteBuffer buffer) throws IOException {
+        Layout layout = new Layout();
+        int size = buffer.getInt();
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IOException("Invalid layout size: " + size);
+        }
+        layout.setSize(size);
+        layout.setTitle(readString(buffer));
+        if (buffer.get() != 0) {
+            layout.setClickItem(readItem(buffer).toItemStack());
+        }
+
+        int count = buffer.getInt();
+        if (count < 0 || count > layout.getSize()) {
+            throw new IOException("Invalid slot count: " + count);
+        }
+        for (int n = 0; n < count; n++) {
+            int slot = buffer.getInt();
+            if (slot < 0 || slot >= layout.getSize()) {
+                throw new IOException("Invalid slot: " + slot);
+            }
+            IconRecord record = readItem(buffer);
+            int flags = buffer.get();
+            if ((flags & FLAG_COMMAND) != 0) {
+                record.changeNameColours = (flags & FLAG_CHANGE_NAME_COLOURS) != 0;
+                record.performAsConsole = (flags & FLAG_PERFORM_AS_CONSOLE) != 0;
+                record.command = readString(buffer);
+                record.permission = readString(buffer);
+            }
+            Icon icon = record.toIcon();
+            icon.setClose((flags & FLAG_CLOSE) != 0);
+            layout.setSlot(slot, icon);
+        }
+        return layout;
+    }
+
+    private static void writeItem(DataOutputStream out, IconRecord record) throws IOException {
+        if (record.material == null) {
+            throw new IllegalArgumentException("Icons must have a material to be encoded.");
+        }
+        writeString(out, record.material.name());
+        out.writeShort(record.materialData);
+        out.writeInt(record.amount);
+        writeString(out, record.name);
+        out.writeInt(record.lore.length);
+        for (String line : record.lore) {
+            writeString(out, line);
+        }
+    }
+
+    private static IconRecord readItem(ByteBuffer buffer) throws IOException {
+        IconRecord record = new IconRecord();
+        String material = readString(buffer);
+        record.material = Material.getMaterial(material);
+        if (record.material == null) {
+            throw new IOException("Unknown material: " + material);
+        }
+        record.materialData = buffer.getShort();
+        record.amount = buffer.getInt();
+        record.name = readString(buffer);
+        int lines = buffer.getInt();
+        if (lines < 0 || lines > buffer.remaining() / 4) { // Each line takes at least its length
+            throw new IOException("Invalid lore length: " + lines);
+        }
+        record.lore = new String[lines];
+        for (int i = 0; i < record.lore.length; i++) {
+            record.lore[i] = readString(buffer);
+        }
+        return record;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 4) {
+            throw new EOFException("Incomplete string data.");
+        }
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < -1) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        if (length > buffer.remaining()) {
+            throw new EOFException("Incomplete string data.");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer, boolean allowEnd) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (allowEnd && buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Unexpected end of layout data.");
+            }
+        }
+        return true;
+    }
+}
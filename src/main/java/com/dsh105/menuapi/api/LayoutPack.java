@@ -0,0 +1,289 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a single file bundling many {@link com.dsh105.menuapi.api.Layout}s
+ * <p/>
+ * A pack starts with an index of Layout names and their position in the file, followed by each Layout encoded using
+ * {@link com.dsh105.menuapi.api.LayoutCodec}. Opened packs are memory-mapped and only the index is read up front. Each
+ * Layout is decoded the first time it is requested and kept in a cache of bounded size
+ * <p/>
+ * Layouts returned by a pack are shared between callers and should not be modified. Use
+ * {@link com.dsh105.menuapi.api.Layout#toMenu(org.bukkit.plugin.Plugin)} to create Menus from them
+ * <p/>
+ * A pack that is no longer needed, for example before it is reloaded, should be released with {@link #close()}
+ */
+public class LayoutPack {
+
+    /**
+     * Magic number at the start of every layout pack ("MAPK")
+     */
+    public static final int MAGIC = 0x4D41504B;
+
+    /**
+     * Current version of the pack format
+     */
+    public static final byte VERSION = 1;
+
+    private final File file;
+    private volatile MappedByteBuffer buffer;
+    private final Map<String, Entry> index;
+    private final Map<String, Layout> cache;
+
+    private LayoutPack(File file, MappedByteBuffer buffer, Map<String, Entry> index, final int cacheSize) {
+        this.file = file;
+        this.buffer = buffer;
+        this.index = index;
+        this.cache = new LinkedHashMap<String, Layout>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Layout> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens a layout pack
+     *
+     * @param file      File to open
+     * @param cacheSize Maximum number of decoded Layouts to keep in memory
+     * @return Opened pack
+     * @throws java.io.IOException if the file could not be read or is not a valid layout pack
+     */
+    public static LayoutPack open(File file, int cacheSize) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 9 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a layout pack: " + file);
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported layout pack version: " + version);
+        }
+        try {
+            return new LayoutPack(file, buffer, readIndex(buffer, file), cacheSize);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt layout pack index: " + file, e);
+        }
+    }
+
+    private static Map<String, Entry> readIndex(ByteBuffer buffer, File file) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / 12) { // Each entry takes at least 12 bytes
+            throw new IOException("Corrupt layout pack index: " + file);
+        }
+        Map<String, Entry> index = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            int nameLength = buffer.getInt();
+            if (nameLength < 0 || nameLength > buffer.remaining()) {
+                throw new IOException("Corrupt layout pack index: " + file);
+            }
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+                throw new IOException("Corrupt layout pack index: " + file);
+            }
+            index.put(new String(name, StandardCharsets.UTF_8), new Entry(offset, length));
+        }
+        return index;
+    }
+
+    /**
+     * Writes Layouts to a new layout pack
+     *
+     * @param layouts Map of names to the Layouts to write
+     * @param file    File to write to. Any existing file is replaced
+     * @throws java.io.IOException if the pack could not be written
+     */
+    public static void write(Map<String, Layout> layouts, File file) throws IOException {
+        List<byte[]> names = new ArrayList<>(layouts.size());
+        List<byte[]> encoded = new ArrayList<>(layouts.size());
+        int indexLength = 9;
+        for (Map.Entry<String, Layout> entry : layouts.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            encoded.add(LayoutCodec.encode(entry.getValue()));
+            indexLength += 12 + name.length;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(indexLength);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(names.size());
+        int offset = indexLength;
+        for (int i = 0; i < names.size(); i++) {
+            out.writeInt(names.get(i).length);
+            out.write(names.get(i));
+            out.writeInt(offset);
+            out.writeInt(encoded.get(i).length);
+            offset += encoded.get(i).length;
+        }
+        out.flush();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, bytes.toByteArray());
+            for (byte[] layout : encoded) {
+                write(channel, layout);
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Gets the file a pack was opened from
+     *
+     * @return Pack file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the names of all Layouts in a pack
+     *
+     * @return Unmodifiable set of Layout names
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Gets whether a pack contains a Layout
+     *
+     * @param name Name of the Layout
+     * @return True if the pack contains a Layout with the given name
+     */
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * Gets a Layout from a pack, decoding it if it is not already cached
+     *
+     * @param name Name of the Layout
+     * @return The Layout, or null if the pack has no Layout with the given name
+     * @throws java.io.IOException if the Layout could not be decoded or the pack has been closed
+     */
+    public Layout getLayout(String name) throws IOException {
+        Entry entry = index.get(name);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (cache) {
+            Layout layout = cache.get(name);
+            if (layout != null) {
+                return layout;
+            }
+        }
+
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IOException("Layout pack has been closed: " + file);
+        }
+        ByteBuffer data = buffer.duplicate();
+        data.position(entry.offset);
+        data.limit(entry.offset + entry.length);
+        Layout layout = LayoutCodec.decode(data);
+
+        synchronized (cache) {
+            Layout existing = cache.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            if (this.buffer != null) {
+                cache.put(name, layout);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Gets the number of decoded Layouts currently cached
+     *
+     * @return Number of cached Layouts
+     */
+    public int getCachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Releases a pack, discarding its cached Layouts
+     * <p/>
+     * Layouts already returned by the pack remain usable, but no more can be loaded from it. The file mapping is
+     * released once it is garbage collected
+     */
+    public void close() {
+        this.buffer = null;
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Gets whether a pack has been closed
+     *
+     * @return True if the pack has been closed
+     */
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    private static class Entry {
+
+        private final int offset;
+        private final int length;
+
+        private Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -18,24 +18,33 @@
 package com.dsh105.menuapi.api;
 
 import com.dsh105.commodus.StringUtil;
+import com.dsh105.menuapi.MenuAPI;
 import com.dsh105.menuapi.api.event.IconClickEvent;
 import com.dsh105.menuapi.api.event.MenuOpenEvent;
+import com.dsh105.menuapi.util.ClickLimiter;
 import com.dsh105.menuapi.util.MenuId;
+import com.dsh105.menuapi.util.MenuMetrics;
+import com.dsh105.menuapi.util.MenuStats;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Represents an Inventory based Menu that can be managed and shown to various players.
@@ -44,11 +53,42 @@ import java.util.Map;
  * <p/>
  * An {@link com.dsh105.menuapi.api.Icon} represents an action to be performed when a certain item in the inventory is
  * clicked
+ * <p/>
+ * Events are routed to each Menu through the shared {@link com.dsh105.menuapi.api.MenuDispatcher}. Menus that are no
+ * longer needed should be released with {@link #dispose()}
+ * <p/>
+ * Each player viewing a Menu is given a {@link com.dsh105.menuapi.api.MenuView} holding what was rendered for them.
+ * Slots that look the same to every player are rendered once and shared between viewers, while other slots are
+ * rendered per viewer and only rendered again once marked dirty (see {@link #markDirty(int)} and {@link #render()})
  */
-public class Menu extends SlotHolder implements InventoryHolder, Listener {
+public class Menu extends SlotHolder implements InventoryHolder {
 
     private long id;
+    private Plugin plugin;
     private boolean closeOnOutsideClick = true;
+    private boolean autoDispose;
+    private boolean disposed;
+    private int opening;
+    private ClickLimiter clickLimiter;
+    private String metricsName;
+    private MenuStats stats;
+
+    private final Map<UUID, MenuView> views = new HashMap<>();
+
+    private String inventoryTitle;
+    private ItemStack[] template;
+    private BitSet templateSlots;
+
+    private boolean renderScheduled;
+    private final Runnable renderTask = new Runnable() {
+        @Override
+        public void run() {
+            renderScheduled = false;
+            if (!disposed) {
+                render();
+            }
+        }
+    };
 
     /**
      * Construct a Menu with the given title and size
@@ -97,12 +137,57 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
     public Menu(Plugin plugin, String title, int size, ItemStack clickItem, HashMap<Integer, Icon> slots) {
         super(size, title, clickItem, slots);
         this.id = MenuId.next();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        this.plugin = plugin;
+        MenuAPI.getDispatcher().register(plugin, this);
     }
 
     @Override
     public Inventory getInventory() {
-        return Bukkit.createInventory(this, this.getSize(), StringUtil.limitCharacters(this.getTitle(), 32));
+        if (inventoryTitle == null) {
+            inventoryTitle = StringUtil.limitCharacters(this.getTitle(), 32);
+        }
+        return Bukkit.createInventory(this, this.getSize(), inventoryTitle);
+    }
+
+    /**
+     * Sets the inventory title of a Menu
+     * <p/>
+     * The new title is used the next time the Menu is shown
+     *
+     * @param title New title
+     */
+    @Override
+    public void setTitle(String title) {
+        super.setTitle(title);
+        this.inventoryTitle = null;
+    }
+
+    @Override
+    protected void setSize(int size) {
+        super.setSize(size);
+        this.template = null;
+    }
+
+    /**
+     * Sets the click item that opens a Menu when clicked by a player
+     * <p/>
+     * A Menu with a click item is kept registered with the {@link com.dsh105.menuapi.api.MenuDispatcher}, even if the
+     * plugin holds no other reference to it, until it is disposed (see {@link #dispose()}) or its click item is set to
+     * null
+     *
+     * @param clickItem Click item to register, or null to remove it
+     */
+    @Override
+    public void setClickItem(ItemStack clickItem) {
+        super.setClickItem(clickItem);
+        MenuAPI.getDispatcher().updateTrigger(this);
+    }
+
+    @Override
+    public void setSlot(int slot, Icon icon) {
+        super.setSlot(slot, icon);
+        this.template = null;
+        this.markDirty(slot);
     }
 
     /**
@@ -122,12 +207,161 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
         this.closeOnOutsideClick = closeOnOutsideClick;
     }
 
+    /**
+     * Gets the limiter applied to clicks on every Icon in a Menu
+     *
+     * @return Click limiter, or null if clicks are not limited
+     */
+    public ClickLimiter getClickLimiter() {
+        return clickLimiter;
+    }
+
+    /**
+     * Sets the limiter applied to clicks on every Icon in a Menu
+     * <p/>
+     * Rejected clicks are cancelled without calling an {@link com.dsh105.menuapi.api.event.IconClickEvent}. Limiters
+     * may also be set for individual Icons (see {@link com.dsh105.menuapi.api.Icon#setClickLimiter(com.dsh105.menuapi.util.ClickLimiter)})
+     *
+     * @param clickLimiter Click limiter, or null to not limit clicks
+     */
+    public void setClickLimiter(ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+    }
+
+    /**
+     * Gets the name statistics for a Menu are recorded under
+     *
+     * @return Metrics name, defaulting to {@link com.dsh105.menuapi.util.MenuMetrics#UNNAMED}
+     */
+    public String getMetricsName() {
+        return metricsName != null ? metricsName : MenuMetrics.UNNAMED;
+    }
+
+    /**
+     * Sets the name statistics for a Menu are recorded under
+     * <p/>
+     * Menus sharing a metrics name are recorded together, so the name should identify a kind of Menu rather than a
+     * single instance. See {@link com.dsh105.menuapi.util.MenuMetrics}
+     *
+     * @param metricsName Metrics name, or null to use {@link com.dsh105.menuapi.util.MenuMetrics#UNNAMED}
+     */
+    public void setMetricsName(String metricsName) {
+        this.metricsName = metricsName;
+        this.stats = null;
+    }
+
+    /**
+     * Gets the statistics recorded for a Menu
+     *
+     * @return Statistics recorded under the metrics name of the Menu
+     */
+    public MenuStats getStats() {
+        if (stats == null) {
+            stats = MenuMetrics.getStats(this.getMetricsName());
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the plugin a Menu was created for
+     *
+     * @return Plugin instance
+     */
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Gets whether a Menu will be disposed once the last player viewing it closes it
+     *
+     * @return True if the Menu will dispose itself
+     */
+    public boolean willAutoDispose() {
+        return autoDispose;
+    }
+
+    /**
+     * Sets whether a Menu will be disposed once the last player viewing it closes it
+     * <p/>
+     * Useful for Menus that are created for a single player and shown once
+     *
+     * @param autoDispose True if the Menu is to dispose itself
+     */
+    public void setAutoDispose(boolean autoDispose) {
+        this.autoDispose = autoDispose;
+    }
+
+    /**
+     * Gets whether a Menu has been disposed
+     *
+     * @return True if the Menu has been disposed and can no longer be shown
+     */
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Gets the number of players currently viewing a Menu
+     *
+     * @return Number of viewers
+     */
+    public int getViewerCount() {
+        return views.size();
+    }
+
+    /**
+     * Gets the view of a player currently viewing a Menu
+     *
+     * @param viewer Player viewing the Menu
+     * @return The player's view, or null if the player is not viewing the Menu
+     */
+    public MenuView getView(Player viewer) {
+        return views.get(viewer.getUniqueId());
+    }
+
+    /**
+     * Gets the views of all players currently viewing a Menu
+     *
+     * @return Unmodifiable collection of views
+     */
+    public Collection<MenuView> getViews() {
+        return Collections.unmodifiableCollection(views.values());
+    }
+
+    /**
+     * Closes a Menu for every player currently viewing it
+     */
+    public void close() {
+        for (MenuView view : new ArrayList<>(views.values())) {
+            view.getViewer().closeInventory();
+        }
+        views.clear();
+    }
+
+    /**
+     * Closes a Menu for all viewers and removes it from the {@link com.dsh105.menuapi.api.MenuDispatcher}
+     * <p/>
+     * A disposed Menu can no longer be shown
+     */
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        close();
+        MenuAPI.getDispatcher().unregister(this);
+    }
+
     /**
      * Shows a Menu to a player
      *
      * @param viewer Player to show the Menu to
      */
     public void show(Player viewer) {
+        if (disposed) {
+            throw new IllegalStateException("Menu " + id + " has been disposed.");
+        }
+        long start = MenuMetrics.isEnabled() ? System.nanoTime() : 0;
         MenuOpenEvent openEvent = new MenuOpenEvent(this, viewer);
         Bukkit.getServer().getPluginManager().callEvent(openEvent);
         if (openEvent.isCancelled()) {
@@ -135,10 +369,227 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
         }
 
         Inventory inv = this.getInventory();
-        for (Map.Entry<Integer, Icon> entry : this.getSlots().entrySet()) {
-            inv.setItem(entry.getKey(), entry.getValue().getIcon(viewer));
+        ItemStack[] contents = this.getTemplate();
+        inv.setContents(contents);
+
+        MenuView view = new MenuView(this, viewer, inv, contents);
+        view.markAllDirty();
+        view.dirty.andNot(templateSlots);
+        BitSet viewerSlots = this.getViewerSlots(view);
+        if (viewerSlots != null) {
+            view.dirty.or(viewerSlots);
+        }
+        this.render(view, contents);
+
+        // Opening an inventory closes the one already open, which may be this Menu. Auto-disposal is held off until
+        // the new inventory is open, so a Menu shown again to its only viewer is not disposed under it
+        boolean reopening = views.containsKey(viewer.getUniqueId());
+        InventoryView inventoryView;
+        opening++;
+        try {
+            inventoryView = viewer.openInventory(inv);
+        } finally {
+            opening--;
+        }
+        if (inventoryView != null && inventoryView.getTopInventory().getHolder() == this) {
+            views.put(viewer.getUniqueId(), view);
+        } else if (reopening && autoDispose && views.isEmpty() && opening == 0) {
+            dispose();
+        }
+        if (start != 0) {
+            this.getStats().recordShow(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Marks a slot to be rendered again for every player viewing a Menu
+     * <p/>
+     * Changes are sent to viewers the next time {@link #render()} is called
+     *
+     * @param slot Slot number to mark
+     */
+    public void markDirty(int slot) {
+        if (views == null) {
+            return; // Slots being set during construction
+        }
+        for (MenuView view : views.values()) {
+            view.markDirty(slot);
+        }
+    }
+
+    /**
+     * Marks every slot holding the given Icon to be rendered again for every player viewing a Menu
+     *
+     * @param icon Icon to mark
+     */
+    public void markDirty(Icon icon) {
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            if (slots[i] == icon) {
+                markDirty(i);
+            }
+        }
+    }
+
+    /**
+     * Marks every slot to be rendered again for every player viewing a Menu
+     */
+    public void markAllDirty() {
+        for (MenuView view : views.values()) {
+            view.markAllDirty();
         }
-        viewer.openInventory(inv);
+    }
+
+    /**
+     * Renders every slot again for all players viewing a Menu, without reopening their inventories
+     * <p/>
+     * Only slots whose rendered item has changed are sent to viewers. Refreshes requested within the same server tick
+     * are flushed together at the start of the next tick
+     */
+    public void refresh() {
+        this.markAllDirty();
+        this.scheduleRender();
+    }
+
+    /**
+     * Renders a slot again for all players viewing a Menu, without reopening their inventories
+     * <p/>
+     * The slot is only sent to viewers if its rendered item has changed. Refreshes requested within the same server
+     * tick are flushed together at the start of the next tick
+     *
+     * @param slot Slot number to refresh
+     */
+    public void refreshSlot(int slot) {
+        this.markDirty(slot);
+        this.scheduleRender();
+    }
+
+    void scheduleRender() {
+        if (renderScheduled || views.isEmpty()) {
+            return;
+        }
+        renderScheduled = true;
+        plugin.getServer().getScheduler().runTask(plugin, renderTask);
+    }
+
+    /**
+     * Renders dirty and {@link com.dsh105.menuapi.api.RenderMode#TIMED} slots again for every player viewing a Menu,
+     * updating their open inventories in place
+     * <p/>
+     * Unlike {@link #refresh()}, this renders immediately
+     */
+    public void render() {
+        ItemStack[] contents = this.getTemplate();
+        for (MenuView view : views.values()) {
+            this.render(view, contents);
+        }
+    }
+
+    /**
+     * Renders dirty and {@link com.dsh105.menuapi.api.RenderMode#TIMED} slots again for a single viewer, updating their
+     * open inventory in place
+     *
+     * @param view View to render
+     */
+    public void render(MenuView view) {
+        this.render(view, this.getTemplate());
+    }
+
+    private void render(MenuView view, ItemStack[] contents) {
+        BitSet pending = view.dirty;
+        pending.or(view.timed);
+        MenuStats stats = MenuMetrics.isEnabled() ? this.getStats() : null;
+        BitSet viewerSlots = this.getViewerSlots(view);
+        for (int i = pending.nextSetBit(0); i >= 0 && i < view.rendered.length; i = pending.nextSetBit(i + 1)) {
+            ItemStack item;
+            if (templateSlots.get(i) && (viewerSlots == null || !viewerSlots.get(i))) {
+                item = contents[i];
+                view.timed.clear(i);
+            } else {
+                long start = stats != null ? System.nanoTime() : 0;
+                Icon icon = this.getIcon(view, i);
+                item = icon == null ? null : icon.getIcon(view.getViewer());
+                if (stats != null && icon != null) {
+                    stats.recordRender(i, System.nanoTime() - start);
+                }
+                view.timed.set(i, icon != null && icon.getRenderMode() == RenderMode.TIMED);
+            }
+            ItemStack previous = view.rendered[i];
+            view.rendered[i] = item;
+            if (item != previous && (item == null || !item.equals(previous))) {
+                view.getInventory().setItem(i, item);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Gets the Icon shown in a slot to a certain viewer
+     * <p/>
+     * Override this method to show different Icons to different players. Slots overridden this way should either not
+     * hold an Icon registered with {@link #setSlot(int, Icon)} or be included in {@link #getViewerSlots(MenuView)}
+     *
+     * @param view View of the player viewing the Menu
+     * @param slot Slot number to look for
+     * @return Icon shown in the slot, or null if the slot is empty
+     */
+    protected Icon getIcon(MenuView view, int slot) {
+        return this.getSlot(slot);
+    }
+
+    /**
+     * Gets the slots rendered separately for a certain viewer, even where the Menu holds an Icon that looks the same to
+     * all players
+     * <p/>
+     * Override this method alongside {@link #getIcon(MenuView, int)} when a viewer may replace Icons registered with
+     * {@link #setSlot(int, Icon)}. Slots added to or removed from the returned set should be marked dirty for the view
+     *
+     * @param view View of the player viewing the Menu
+     * @return Slots rendered for the viewer alone, or null if there are none
+     */
+    protected BitSet getViewerSlots(MenuView view) {
+        return null;
+    }
+
+    /**
+     * Gets the rendered contents of every slot that looks the same to all players
+     * <p/>
+     * The template is rebuilt if a slot has been changed or one of its Icons no longer renders to the cached item. Slots
+     * whose rendered item changed are marked dirty for current viewers
+     *
+     * @return Rendered contents, with viewer dependent slots left empty
+     */
+    private ItemStack[] getTemplate() {
+        ItemStack[] previous = template;
+        if (template != null) {
+            for (int i = templateSlots.nextSetBit(0); i >= 0; i = templateSlots.nextSetBit(i + 1)) {
+                if (slots[i] == null || template[i] != slots[i].getIcon()) {
+                    template = null;
+                    break;
+                }
+            }
+        }
+
+        if (template == null) {
+            ItemStack[] contents = new ItemStack[this.getSize()];
+            BitSet shared = new BitSet(this.getSize());
+            for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+                if (!slots[i].isViewerDependent()) {
+                    shared.set(i);
+                    contents[i] = slots[i].getIcon();
+                }
+            }
+            templateSlots = shared;
+            template = contents;
+
+            if (previous != null && previous.length == contents.length) {
+                for (int i = 0; i < contents.length; i++) {
+                    if (previous[i] != contents[i]) {
+                        markDirty(i);
+                    }
+                }
+            }
+        }
+        return template;
     }
 
     /**
@@ -161,7 +612,13 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
         return new Layout(this.getSlots(), this.getSize(), this.getTitle(), this.getClickItem());
     }
 
-    @EventHandler
+    /**
+     * Handles a click in an inventory belonging to this Menu
+     * <p/>
+     * Called by the {@link com.dsh105.menuapi.api.MenuDispatcher}
+     *
+     * @param event Click event to handle
+     */
     public void onInvClick(InventoryClickEvent event) {
         HumanEntity human = event.getWhoClicked();
         if (human instanceof Player) {
@@ -171,16 +628,32 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
                 Menu menu = (Menu) inv.getHolder();
                 if (menu.getId() == this.getId()) {
                     event.setCancelled(true);
+                    if (disposed) {
+                        return;
+                    }
 
                     if (event.getSlotType().equals(InventoryType.SlotType.OUTSIDE) && willCloseOnOutsideClick()) {
                         player.closeInventory();
                         return;
                     }
 
-                    Icon icon = getSlots().get(event.getSlot());
+                    MenuView view = views.get(player.getUniqueId());
+                    Icon icon = view == null ? getSlot(event.getSlot()) : getIcon(view, event.getSlot());
                     if (icon != null) {
+                        MenuStats stats = MenuMetrics.isEnabled() ? this.getStats() : null;
+                        if (!tryClick(player, icon.getClickLimiter())) {
+                            if (stats != null) {
+                                stats.recordRejectedClick();
+                            }
+                            return;
+                        }
+
+                        long start = stats != null ? System.nanoTime() : 0;
                         IconClickEvent openEvent = new IconClickEvent(this, icon, player);
                         Bukkit.getServer().getPluginManager().callEvent(openEvent);
+                        if (stats != null) {
+                            stats.recordClickEvent(event.getSlot(), System.nanoTime() - start);
+                        }
                         if (openEvent.isCancelled()) {
                             return;
                         }
@@ -188,14 +661,54 @@ public class Menu extends SlotHolder implements InventoryHolder, Listener {
                         if (icon.willClose()) {
                             player.closeInventory();
                         }
+                        start = stats != null ? System.nanoTime() : 0;
                         icon.onClick(player);
+                        if (stats != null) {
+                            stats.recordCallback(System.nanoTime() - start);
+                        }
                     }
                 }
             }
         }
     }
 
-    @EventHandler
+    private boolean tryClick(Player player, ClickLimiter iconLimiter) {
+        if (clickLimiter == null || iconLimiter == null || clickLimiter == iconLimiter) {
+            ClickLimiter limiter = clickLimiter != null ? clickLimiter : iconLimiter;
+            return limiter == null || limiter.tryClick(player);
+        }
+        // Clicks are only taken once both limiters allow them. A click rejected by the Icon is still counted by its
+        // limiter, without using up the Menu's
+        if (!iconLimiter.canClick(player)) {
+            return iconLimiter.tryClick(player);
+        }
+        return clickLimiter.tryClick(player) && iconLimiter.tryClick(player);
+    }
+
+    /**
+     * Handles an inventory belonging to this Menu being closed
+     * <p/>
+     * Called by the {@link com.dsh105.menuapi.api.MenuDispatcher}
+     *
+     * @param event Close event to handle
+     */
+    public void onInvClose(InventoryCloseEvent event) {
+        MenuView view = views.get(event.getPlayer().getUniqueId());
+        if (view != null && view.getInventory().equals(event.getInventory())) {
+            views.remove(event.getPlayer().getUniqueId());
+            if (autoDispose && views.isEmpty() && opening == 0) {
+                dispose();
+            }
+        }
+    }
+
+    /**
+     * Opens this Menu if the item used in the interaction matches the registered click item
+     * <p/>
+     * Called by the {@link com.dsh105.menuapi.api.MenuDispatcher}
+     *
+     * @param event Interact event to handle
+     */
     public void onPlayerInteract(PlayerInteractEvent event) {
         ItemStack clickIcon = this.getClickItem();
         if (clickIcon != null) {
@@ -0,0 +1,147 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the fixed contents of a {@link com.dsh105.menuapi.api.SharedMenu}
+ * <p/>
+ * A definition cannot be changed once constructed, so it may be shared between any number of players. Anything that
+ * differs between players is held by their {@link com.dsh105.menuapi.api.MenuSession} instead
+ */
+public final class MenuDefinition {
+
+    private final String title;
+    private final int size;
+    private final ItemStack clickItem;
+    private final Icon[] slots;
+    private final BitSet occupied;
+
+    /**
+     * Construct a new MenuDefinition
+     *
+     * @param title Title of the inventory
+     * @param size  Size of the inventory
+     * @param slots Icons of the definition
+     */
+    public MenuDefinition(String title, int size, Map<Integer, Icon> slots) {
+        this(title, size, null, slots);
+    }
+
+    /**
+     * Construct a MenuDefinition from a given {@link Layout}
+     *
+     * @param layout Layout to construct the definition from
+     */
+    public MenuDefinition(Layout layout) {
+        this(layout.getTitle(), layout.getSize(), layout.getClickItem(), layout.getSlots());
+    }
+
+    /**
+     * Construct a new MenuDefinition
+     * <p/>
+     * Menu sizes will be automatically adjusted to accommodate a multiple of nine
+     *
+     * @param title     Title of the inventory
+     * @param size      Size of the inventory
+     * @param clickItem Click item that opens the Menu
+     * @param slots     Icons of the definition
+     */
+    public MenuDefinition(String title, int size, ItemStack clickItem, Map<Integer, Icon> slots) {
+        size = SlotHolder.normalizeSize(size);
+        this.title = title;
+        this.size = size;
+        this.clickItem = clickItem == null ? null : clickItem.clone();
+        this.slots = new Icon[size];
+        this.occupied = new BitSet(size);
+        for (Map.Entry<Integer, Icon> entry : slots.entrySet()) {
+            int slot = entry.getKey();
+            SlotHolder.checkSlot(slot, size);
+            if (entry.getValue() != null) {
+                this.slots[slot] = entry.getValue();
+                this.occupied.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Gets the inventory title of the definition
+     *
+     * @return Title of the inventory
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the inventory size of the definition
+     *
+     * @return Size of the inventory
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the click item that opens Menus created from the definition
+     *
+     * @return Copy of the click item, or null if there is none
+     */
+    public ItemStack getClickItem() {
+        return clickItem == null ? null : clickItem.clone();
+    }
+
+    /**
+     * Gets the Icon held in a certain slot
+     *
+     * @param slot Slot number to look for
+     * @return Icon in the slot, or null if the slot is empty
+     */
+    public Icon getSlot(int slot) {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+     * Gets a copy of every occupied slot
+     *
+     * @return Map of slot numbers to Icons
+     */
+    public HashMap<Integer, Icon> getSlots() {
+        HashMap<Integer, Icon> copy = new HashMap<>();
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            copy.put(i, slots[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a Menu that shows the definition to any number of players
+     *
+     * @param plugin Plugin instance
+     * @return Shared Menu for the definition
+     */
+    public SharedMenu toMenu(Plugin plugin) {
+        return new SharedMenu(plugin, this);
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Routes inventory events to the {@link com.dsh105.menuapi.api.Menu} they belong to
+ * <p/>
+ * A single listener is registered for every Menu, so the cost of a click does not grow with the number of Menus
+ * created. Click events are resolved through the holder of the clicked inventory
+ * <p/>
+ * The listener is registered under one of the plugins owning a Menu. When a plugin is disabled, its Menus are disposed
+ * and, if the listener was registered under it, the listener moves to another enabled plugin that still owns a Menu
+ * <p/>
+ * Menus without a click item are only weakly referenced, so a Menu that is no longer reachable (and not open for any
+ * player) is dropped from dispatch even if it was never disposed. Collected Menus are cleared out whenever an event is
+ * handled or a Menu is registered. Menus with a click item are held until they are disposed or their click item is
+ * removed, as they may be opened by a player at any time
+ * <p/>
+ * Click items are indexed by material, data and display name, so an interaction only compares the used item against
+ * Menus whose click item could match. Interactions with items of a material no click item uses return immediately
+ */
+public class MenuDispatcher implements Listener {
+
+    private final ConcurrentMap<Long, MenuReference> menus = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Menu> triggered = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Menu> collected = new ReferenceQueue<>();
+    private final ConcurrentMap<TriggerKey, List<MenuReference>> triggers = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray triggerMaterials = new AtomicIntegerArray(Material.values().length);
+    private Plugin plugin;
+
+    /**
+     * Registers a Menu with the dispatcher, registering the dispatcher itself with Bukkit if it is not already listening
+     *
+     * @param plugin Plugin instance to register the listener with
+     * @param menu   Menu to register
+     */
+    public void register(Plugin plugin, Menu menu) {
+        this.listen(plugin);
+        this.expunge();
+        MenuReference reference = new MenuReference(menu, plugin, this.collected);
+        this.menus.put(menu.getId(), reference);
+        this.setTrigger(reference, menu.getClickItem());
+        this.hold(menu);
+    }
+
+    /**
+     * Removes a Menu from the dispatcher
+     *
+     * @param menu Menu to remove
+     */
+    public void unregister(Menu menu) {
+        MenuReference reference = this.menus.remove(menu.getId());
+        this.triggered.remove(menu.getId());
+        if (reference != null) {
+            this.setTrigger(reference, null);
+        }
+        this.expunge();
+    }
+
+    /**
+     * Updates the click item a registered Menu is triggered by
+     * <p/>
+     * Called by {@link com.dsh105.menuapi.api.Menu#setClickItem(org.bukkit.inventory.ItemStack)}
+     *
+     * @param menu Menu whose click item changed
+     */
+    public void updateTrigger(Menu menu) {
+        MenuReference reference = this.menus.get(menu.getId());
+        if (reference != null && reference.get() == menu) {
+            this.setTrigger(reference, menu.getClickItem());
+            this.hold(menu);
+        }
+    }
+
+    private void hold(Menu menu) {
+        if (menu.getClickItem() != null) {
+            this.triggered.put(menu.getId(), menu);
+        } else {
+            this.triggered.remove(menu.getId());
+        }
+    }
+
+    private synchronized void setTrigger(MenuReference reference, ItemStack clickItem) {
+        if (reference.trigger != null) {
+            List<MenuReference> candidates = this.triggers.get(reference.trigger);
+            if (candidates != null) {
+                candidates.remove(reference);
+                if (candidates.isEmpty()) {
+                    this.triggers.remove(reference.trigger);
+                }
+            }
+            this.triggerMaterials.decrementAndGet(reference.trigger.material.ordinal());
+        }
+
+        reference.trigger = clickItem == null ? null : TriggerKey.of(clickItem);
+        if (reference.trigger != null) {
+            List<MenuReference> candidates = this.triggers.get(reference.trigger);
+            if (candidates == null) {
+                candidates = new CopyOnWriteArrayList<>();
+                this.triggers.put(reference.trigger, candidates);
+            }
+            candidates.add(reference);
+            this.triggerMaterials.incrementAndGet(reference.trigger.material.ordinal());
+        }
+    }
+
+    /**
+     * Gets a registered Menu by its ID
+     *
+     * @param id ID of the Menu
+     * @return The registered Menu, or null if none was found
+     */
+    public Menu getMenu(long id) {
+        MenuReference reference = this.menus.get(id);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Gets the number of Menus registered with the dispatcher
+     *
+     * @return Number of registered Menus
+     */
+    public int getRegisteredCount() {
+        this.expunge();
+        return this.menus.size();
+    }
+
+    private void expunge() {
+        MenuReference reference;
+        while ((reference = (MenuReference) this.collected.poll()) != null) {
+            this.menus.remove(reference.id, reference);
+            this.setTrigger(reference, null);
+        }
+    }
+
+    synchronized Plugin getListeningPlugin() {
+        return this.plugin;
+    }
+
+    private synchronized void listen(Plugin plugin) {
+        if (this.plugin != null && this.plugin.isEnabled()) {
+            return;
+        }
+        if (this.plugin != null) {
+            HandlerList.unregisterAll(this);
+        }
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        Plugin disabled = event.getPlugin();
+        for (MenuReference reference : this.menus.values()) {
+            if (reference.plugin == disabled) {
+                Menu menu = reference.get();
+                if (menu != null) {
+                    menu.dispose();
+                }
+                this.menus.remove(reference.id, reference);
+                this.triggered.remove(reference.id);
+                this.setTrigger(reference, null);
+            }
+        }
+        this.expunge();
+
+        synchronized (this) {
+            if (this.plugin != disabled) {
+                return;
+            }
+            // Bukkit unregisters the listeners of the disabled plugin once this event has been handled
+            HandlerList.unregisterAll(this);
+            this.plugin = null;
+            for (MenuReference reference : this.menus.values()) {
+                if (reference.plugin.isEnabled()) {
+                    this.listen(reference.plugin);
+                    break;
+                }
+            }
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        this.expunge();
+        InventoryHolder holder = event.getView().getTopInventory().getHolder();
+        if (holder instanceof Menu) {
+            ((Menu) holder).onInvClick(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        this.expunge();
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (holder instanceof Menu) {
+            ((Menu) holder).onInvClose(event);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        this.expunge();
+        ItemStack item = event.getItem();
+        if (item == null || this.triggerMaterials.get(item.getType().ordinal()) <= 0) {
+            return;
+        }
+        List<MenuReference> candidates = this.triggers.get(TriggerKey.of(item));
+        if (candidates == null) {
+            return;
+        }
+        for (MenuReference reference : candidates) {
+            Menu menu = reference.get();
+            if (menu != null) {
+                menu.onPlayerInteract(event);
+            }
+        }
+    }
+
+    private static class MenuReference extends WeakReference<Menu> {
+
+        private final long id;
+        private final Plugin plugin;
+        private TriggerKey trigger;
+
+        MenuReference(Menu menu, Plugin plugin, ReferenceQueue<Menu> queue) {
+            super(menu, queue);
+            this.id = menu.getId();
+            this.plugin = plugin;
+        }
+    }
+
+    private static class TriggerKey {
+
+        private final Material material;
+        private final short data;
+        private final int nameHash;
+
+        private TriggerKey(Material material, short data, int nameHash) {
+            this.material = material;
+            this.data = data;
+            this.nameHash = nameHash;
+        }
+
+        private static TriggerKey of(ItemStack itemStack) {
+            int nameHash = 0;
+            if (itemStack.hasItemMeta()) {
+                ItemMeta meta = itemStack.getItemMeta();
+                if (meta.hasDisplayName()) {
+                    nameHash = meta.getDisplayName().hashCode();
+                }
+            }
+            return new TriggerKey(itemStack.getType(), itemStack.getDurability(), nameHash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TriggerKey)) {
+                return false;
+            }
+            TriggerKey other = (TriggerKey) o;
+            return material == other.material && data == other.data && nameHash == other.nameHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * material.hashCode() + data) + nameHash;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.entity.Player;
+
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the state of a {@link com.dsh105.menuapi.api.SharedMenu} belonging to a single player
+ * <p/>
+ * A session only holds the Icons that replace those of the {@link com.dsh105.menuapi.api.MenuDefinition} for its
+ * player, along with any values the plugin wishes to keep for them. Sessions are created as needed by
+ * {@link com.dsh105.menuapi.api.SharedMenu#getSession(org.bukkit.entity.Player)}
+ */
+public class MenuSession {
+
+    private final SharedMenu menu;
+    private final WeakReference<Player> viewer;
+
+    private Map<Integer, Icon> overrides;
+    private BitSet overridden;
+    private Map<String, Object> state;
+
+    MenuSession(SharedMenu menu, Player viewer) {
+        this.menu = menu;
+        this.viewer = new WeakReference<>(viewer);
+    }
+
+    /**
+     * Gets the Menu a session belongs to
+     *
+     * @return Shared Menu
+     */
+    public SharedMenu getMenu() {
+        return menu;
+    }
+
+    /**
+     * Gets the player a session belongs to
+     *
+     * @return Player, or null if the player is no longer online
+     */
+    public Player getViewer() {
+        return viewer.get();
+    }
+
+    /**
+     * Gets the Icon replacing that of the definition in a certain slot
+     *
+     * @param slot Slot number to look for
+     * @return Replacing Icon, or null if the slot shows the Icon of the definition
+     */
+    public Icon getIcon(int slot) {
+        return overrides == null ? null : overrides.get(slot);
+    }
+
+    /**
+     * Replaces the Icon of the definition in a certain slot for the player of a session
+     * <p/>
+     * If the player is viewing the Menu, their open inventory is updated in place
+     *
+     * @param slot Slot number to replace
+     * @param icon Icon to show instead, or null to show the Icon of the definition again
+     * @throws java.lang.IllegalArgumentException if the slot number does not exist
+     */
+    public void setIcon(int slot, Icon icon) {
+        if (slot < 0 || slot >= menu.getSize()) {
+            throw new IllegalArgumentException("Slot " + slot + " does not exist. Failed to apply Icon to slot.");
+        }
+        if (icon == null) {
+            if (overrides == null || overrides.remove(slot) == null) {
+                return;
+            }
+            overridden.clear(slot);
+        } else {
+            if (overrides == null) {
+                overrides = new HashMap<>();
+                overridden = new BitSet(menu.getSize());
+            }
+            overrides.put(slot, icon);
+            overridden.set(slot);
+        }
+        menu.update(this, slot);
+    }
+
+    /**
+     * Shows the Icons of the definition again in every slot replaced for the player of a session
+     */
+    public void clearIcons() {
+        if (overrides == null || overrides.isEmpty()) {
+            return;
+        }
+        BitSet cleared = (BitSet) overridden.clone();
+        overrides.clear();
+        overridden.clear();
+        for (int i = cleared.nextSetBit(0); i >= 0; i = cleared.nextSetBit(i + 1)) {
+            menu.update(this, i);
+        }
+    }
+
+    /**
+     * Gets a value stored in a session
+     *
+     * @param key Key the value is stored under
+     * @return Stored value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        return state == null ? null : (T) state.get(key);
+    }
+
+    /**
+     * Stores a value in a session
+     *
+     * @param key   Key to store the value under
+     * @param value Value to store, or null to remove the stored value
+     */
+    public void set(String key, Object value) {
+        if (value == null) {
+            if (state != null) {
+                state.remove(key);
+            }
+            return;
+        }
+        if (state == null) {
+            state = new HashMap<>();
+        }
+        state.put(key, value);
+    }
+
+    BitSet getOverridden() {
+        return overridden;
+    }
+}
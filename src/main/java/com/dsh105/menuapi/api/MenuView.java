@@ -0,0 +1,104 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+
+/**
+ * Represents the rendered state of a {@link com.dsh105.menuapi.api.Menu} for a single player viewing it
+ * <p/>
+ * A view remembers what was last rendered in each slot, and which slots need to be rendered again
+ */
+public class MenuView {
+
+    private final Menu menu;
+    private final Player viewer;
+    private final Inventory inventory;
+
+    final ItemStack[] rendered;
+    final BitSet dirty;
+    final BitSet timed;
+
+    MenuView(Menu menu, Player viewer, Inventory inventory, ItemStack[] contents) {
+        this.menu = menu;
+        this.viewer = viewer;
+        this.inventory = inventory;
+        this.rendered = contents.clone();
+        this.dirty = new BitSet(contents.length);
+        this.timed = new BitSet(contents.length);
+    }
+
+    /**
+     * Gets the Menu being viewed
+     *
+     * @return Menu being viewed
+     */
+    public Menu getMenu() {
+        return menu;
+    }
+
+    /**
+     * Gets the Player viewing the Menu
+     *
+     * @return Player viewing the Menu
+     */
+    public Player getViewer() {
+        return viewer;
+    }
+
+    /**
+     * Gets the inventory shown to the viewer
+     *
+     * @return Inventory shown to the viewer
+     */
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Gets whether a slot will be rendered again the next time the Menu is rendered
+     *
+     * @param slot Slot number to check
+     * @return True if the slot is dirty
+     */
+    public boolean isDirty(int slot) {
+        return dirty.get(slot);
+    }
+
+    /**
+     * Marks a slot to be rendered again the next time the Menu is rendered
+     *
+     * @param slot Slot number to mark
+     */
+    public void markDirty(int slot) {
+        if (slot >= 0 && slot < rendered.length) {
+            dirty.set(slot);
+        }
+    }
+
+    /**
+     * Marks every slot to be rendered again the next time the Menu is rendered
+     */
+    public void markAllDirty() {
+        dirty.set(0, rendered.length);
+    }
+}
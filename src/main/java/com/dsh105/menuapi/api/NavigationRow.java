@@ -0,0 +1,58 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.api;
+
+/**
+ * Shared handling of the navigation row of Menus that show Icons from a source above their last row, such as
+ * {@link com.dsh105.menuapi.api.PaginatedMenu} and {@link com.dsh105.menuapi.api.ScrollMenu}
+ * <p/>
+ * Every slot above the last row shows Icons from the source, and the first and last slots of the last row hold the
+ * navigation Icons. These slots are reserved, while the remaining slots of the last row may hold other Icons
+ */
+final class NavigationRow {
+
+    private NavigationRow() {
+    }
+
+    /**
+     * Prepares an Icon to navigate a Menu, keeping the Menu open when it is clicked
+     *
+     * @param icon     Navigation Icon
+     * @param callback Action performed when the Icon is clicked, replacing any existing callback
+     * @return The prepared Icon
+     */
+    static Icon prepare(Icon icon, IconCallback callback) {
+        icon.setClose(false);
+        icon.setCallback(callback);
+        return icon;
+    }
+
+    /**
+     * Checks that a slot may be set through {@link com.dsh105.menuapi.api.Menu#setSlot(int, Icon)}
+     *
+     * @param slot        Slot number to check
+     * @param contentSize Number of slots showing Icons from the source, or 0 while the Menu is being constructed
+     * @param size        Size of the Menu
+     * @param purpose     What the reserved slots are used for, as shown in the exception message
+     * @throws java.lang.IllegalArgumentException if the slot is reserved
+     */
+    static void checkSlot(int slot, int contentSize, int size, String purpose) {
+        if (contentSize > 0 && slot >= 0 && (slot <= contentSize || slot == size - 1)) {
+            throw new IllegalArgumentException("Slot " + slot + " is reserved for " + purpose + ". Failed to apply Icon to slot.");
+        }
+    }
+}
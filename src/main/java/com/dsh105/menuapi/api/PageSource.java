@@ -0,0 +1,98 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents a lazily evaluated source of Icons shown by a {@link com.dsh105.menuapi.api.PaginatedMenu}
+ * <p/>
+ * Icons are only requested for the page being shown to a player
+ */
+public abstract class PageSource {
+
+    /**
+     * Size reported by sources that do not know how many Icons they hold
+     */
+    public static final int UNKNOWN_SIZE = -1;
+
+    /**
+     * Gets the Icon at a position in the source
+     *
+     * @param index Position of the Icon
+     * @return Icon at the given position, or null if the source has no Icon at that position
+     */
+    public abstract Icon getIcon(int index);
+
+    /**
+     * Gets the number of Icons in the source
+     * <p/>
+     * Sources of unknown size are paged through until {@link #getIcon(int)} returns null
+     *
+     * @return Number of Icons, or {@link #UNKNOWN_SIZE} if not known
+     */
+    public int size() {
+        return UNKNOWN_SIZE;
+    }
+
+    /**
+     * Creates a source backed by a list of Icons
+     * <p/>
+     * Changes to the list are reflected by the source
+     *
+     * @param icons List of Icons
+     * @return Source backed by the list
+     */
+    public static PageSource of(final List<? extends Icon> icons) {
+        return new PageSource() {
+            @Override
+            public Icon getIcon(int index) {
+                return index >= 0 && index < icons.size() ? icons.get(index) : null;
+            }
+
+            @Override
+            public int size() {
+                return icons.size();
+            }
+        };
+    }
+
+    /**
+     * Creates a source of unknown size backed by an iterator
+     * <p/>
+     * Icons are taken from the iterator as pages are requested and kept for later requests
+     *
+     * @param icons Iterator supplying the Icons
+     * @return Source backed by the iterator
+     */
+    public static PageSource of(final Iterator<? extends Icon> icons) {
+        return new PageSource() {
+            private final List<Icon> taken = new ArrayList<>();
+
+            @Override
+            public Icon getIcon(int index) {
+                while (taken.size() <= index && icons.hasNext()) {
+                    taken.add(icons.next());
+                }
+                return index >= 0 && index < taken.size() ? taken.get(index) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Represents a Menu that pages through a large number of Icons supplied by a {@link com.dsh105.menuapi.api.PageSource}
+ * <p/>
+ * All rows but the last show Icons from the source. The first and last slots of the last row hold the previous and next
+ * page Icons, while the remaining slots of the last row may be used for other Icons through
+ * {@link #setSlot(int, Icon)}. Each player pages through the Menu independently, and only the page being viewed is
+ * rendered. Changing page updates the open inventory in place
+ * <p/>
+ * The page each player last viewed is remembered until they log out
+ */
+public class PaginatedMenu extends Menu {
+
+    private final PageSource source;
+    private final int pageSize;
+    private final Map<Player, Integer> pages = new WeakHashMap<>();
+
+    private Icon previousIcon;
+    private Icon nextIcon;
+
+    /**
+     * Construct a new PaginatedMenu
+     *
+     * @param plugin Plugin instance
+     * @param title  Title of the inventory
+     * @param size   Size of the inventory, including the navigation row. Must be at least 18
+     * @param source Source of the Icons to page through
+     */
+    public PaginatedMenu(Plugin plugin, String title, int size, PageSource source) {
+        super(plugin, title, size);
+        if (this.getSize() < 18) {
+            throw new IllegalArgumentException("Paginated menus require at least two rows.");
+        }
+        this.source = source;
+        this.pageSize = this.getSize() - 9;
+        this.setPreviousIcon(new Icon(Material.ARROW, "Previous Page"));
+        this.setNextIcon(new Icon(Material.ARROW, "Next Page"));
+    }
+
+    /**
+     * Gets the source of the Icons paged through
+     *
+     * @return Icon source
+     */
+    public PageSource getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the number of Icons shown on each page
+     *
+     * @return Number of Icons per page
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the number of pages, if known
+     *
+     * @return Number of pages, or {@link com.dsh105.menuapi.api.PageSource#UNKNOWN_SIZE} if the size of the source is
+     * not known
+     */
+    public int getPageCount() {
+        int size = source.size();
+        if (size == PageSource.UNKNOWN_SIZE) {
+            return PageSource.UNKNOWN_SIZE;
+        }
+        return Math.max(1, (size + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Gets whether a page exists
+     *
+     * @param page Page number, starting at 0
+     * @return True if the page exists
+     */
+    public boolean hasPage(int page) {
+        if (page < 0) {
+            return false;
+        }
+        if (page == 0) {
+            return true;
+        }
+        int count = getPageCount();
+        return count == PageSource.UNKNOWN_SIZE ? source.getIcon(page * pageSize) != null : page < count;
+    }
+
+    /**
+     * Gets the Icon used to go to the previous page
+     *
+     * @return Previous page Icon
+     */
+    public Icon getPreviousIcon() {
+        return previousIcon;
+    }
+
+    /**
+     * Sets the Icon used to go to the previous page
+     * <p/>
+     * The callback of the Icon is replaced
+     *
+     * @param previousIcon Previous page Icon
+     */
+    public void setPreviousIcon(Icon previousIcon) {
+        this.previousIcon = NavigationRow.prepare(previousIcon, new IconCallback() {
+            @Override
+            public void run(Player viewer) {
+                setPage(viewer, getPage(viewer) - 1);
+            }
+        });
+        this.markDirty(pageSize);
+    }
+
+    /**
+     * Gets the Icon used to go to the next page
+     *
+     * @return Next page Icon
+     */
+    public Icon getNextIcon() {
+        return nextIcon;
+    }
+
+    /**
+     * Sets the Icon used to go to the next page
+     * <p/>
+     * The callback of the Icon is replaced
+     *
+     * @param nextIcon Next page Icon
+     */
+    public void setNextIcon(Icon nextIcon) {
+        this.nextIcon = NavigationRow.prepare(nextIcon, new IconCallback() {
+            @Override
+            public void run(Player viewer) {
+                setPage(viewer, getPage(viewer) + 1);
+            }
+        });
+        this.markDirty(this.getSize() - 1);
+    }
+
+    /**
+     * Gets the page a player is viewing
+     *
+     * @param viewer Player viewing the Menu
+     * @return Page number, starting at 0
+     */
+    public int getPage(Player viewer) {
+        Integer page = pages.get(viewer);
+        return page == null ? 0 : page;
+    }
+
+    /**
+     * Changes the page a player is viewing
+     * <p/>
+     * If the player is viewing the Menu, their open inventory is updated in place
+     *
+     * @param viewer Player viewing the Menu
+     * @param page   Page number, starting at 0
+     * @return True if the page exists and was changed to
+     */
+    public boolean setPage(Player viewer, int page) {
+        if (!hasPage(page)) {
+            return false;
+        }
+        pages.put(viewer, page);
+
+        MenuView view = this.getView(viewer);
+        if (view != null) {
+            for (int i = 0; i < pageSize; i++) {
+                view.markDirty(i);
+            }
+            view.markDirty(pageSize);
+            view.markDirty(this.getSize() - 1);
+            this.render(view);
+        }
+        return true;
+    }
+
+    /**
+     * Registers an Icon to a certain slot in the last row of a Menu
+     * <p/>
+     * Slots that show Icons from the source, as well as the first and last slots of the last row, are reserved for
+     * paging
+     *
+     * @param slot Slot number to apply the Icon to
+     * @param icon Icon to apply to the slot, or null to clear the slot
+     * @throws java.lang.IllegalArgumentException if the slot number does not exist or is reserved for paging
+     */
+    @Override
+    public void setSlot(int slot, Icon icon) {
+        NavigationRow.checkSlot(slot, pageSize, this.getSize(), "paging");
+        super.setSlot(slot, icon);
+    }
+
+    @Override
+    protected Icon getIcon(MenuView view, int slot) {
+        if (slot < pageSize) {
+            return source.getIcon(getPage(view.getViewer()) * pageSize + slot);
+        } else if (slot == pageSize) {
+            return hasPage(getPage(view.getViewer()) - 1) ? previousIcon : null;
+        } else if (slot == this.getSize() - 1) {
+            return hasPage(getPage(view.getViewer()) + 1) ? nextIcon : null;
+        }
+        return super.getIcon(view, slot);
+    }
+
+}
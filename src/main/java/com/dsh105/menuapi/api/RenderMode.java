@@ -0,0 +1,41 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+/**
+ * Describes how often the {@link org.bukkit.inventory.ItemStack} representing an {@link com.dsh105.menuapi.api.Icon}
+ * needs to be rendered
+ */
+public enum RenderMode {
+
+    /**
+     * The Icon looks the same to every player and only changes when it is modified
+     */
+    STATIC,
+
+    /**
+     * The Icon may look different to each player, but does not change while a player is viewing it
+     */
+    PER_VIEWER,
+
+    /**
+     * The Icon may change over time, and is rendered again every time its {@link com.dsh105.menuapi.api.Menu} is
+     * rendered
+     */
+    TIMED
+}
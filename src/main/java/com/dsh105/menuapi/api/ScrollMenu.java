@@ -0,0 +1,364 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.util.MainThreadExecutor;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * Represents a Menu that shows a scrollable window onto a long list of Icons supplied by a
+ * {@link com.dsh105.menuapi.api.ScrollSource}
+ * <p/>
+ * All rows but the last show Icons from the source. The first and last slots of the last row hold the scroll up and
+ * scroll down Icons, which move the window by a single row, while the remaining slots of the last row may be used for
+ * other Icons through {@link #setSlot(int, Icon)}. Scrolling only sends the slots whose contents changed to the player
+ * <p/>
+ * Icons are loaded from the source in chunks as they come into view. Until a chunk has loaded, its slots show a
+ * placeholder Icon, and once it has loaded only the views showing it are rendered again. Chunks that fail to load keep
+ * showing the placeholder and are loaded again after a short delay. Chunks shown by an open view are always kept, along
+ * with a small number of recently used chunks. The position each player last scrolled to is
+ * remembered until they log out
+ */
+public class ScrollMenu extends Menu {
+
+    private static final int MAX_CACHED_CHUNKS = 16;
+    private static final long RETRY_DELAY = 100L; // Ticks
+
+    private final ScrollSource source;
+    private final int windowSize;
+    private final int chunkSize;
+    private final Executor mainThread;
+
+    private final Map<Player, Integer> offsets = new WeakHashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private final Map<Integer, List<Icon>> chunks = new LinkedHashMap<Integer, List<Icon>>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Icon>> eldest) {
+            if (size() > MAX_CACHED_CHUNKS) {
+                // Evict the least recently used chunk that no open view is showing
+                Iterator<Integer> iterator = keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (!isPinned(iterator.next())) {
+                        iterator.remove();
+                        break;
+                    }
+                }
+            }
+            return false;
+        }
+    };
+
+    private Icon upIcon;
+    private Icon downIcon;
+    private Icon placeholder;
+    private boolean fetching;
+
+    /**
+     * Construct a new ScrollMenu
+     *
+     * @param plugin Plugin instance
+     * @param title  Title of the inventory
+     * @param size   Size of the inventory, including the navigation row. Must be at least 18
+     * @param source Source of the Icons to scroll through
+     */
+    public ScrollMenu(Plugin plugin, String title, int size, ScrollSource source) {
+        super(plugin, title, size);
+        if (this.getSize() < 18) {
+            throw new IllegalArgumentException("Scrolling menus require at least two rows.");
+        }
+        this.source = source;
+        this.windowSize = this.getSize() - 9;
+        this.chunkSize = this.windowSize * 2;
+        this.mainThread = new MainThreadExecutor(plugin);
+
+        this.setUpIcon(new Icon(Material.ARROW, "Scroll Up"));
+        this.setDownIcon(new Icon(Material.ARROW, "Scroll Down"));
+        this.setPlaceholder(new Icon(Material.STAINED_GLASS_PANE, 1, (short) 8, "Loading..."));
+    }
+
+    /**
+     * Gets the source of the Icons scrolled through
+     *
+     * @return Icon source
+     */
+    public ScrollSource getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the Icon shown in slots whose Icons are still loading
+     *
+     * @return Placeholder Icon
+     */
+    public Icon getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Sets the Icon shown in slots whose Icons are still loading
+     *
+     * @param placeholder Placeholder Icon
+     */
+    public void setPlaceholder(Icon placeholder) {
+        placeholder.setClose(false);
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Gets the Icon used to scroll up
+     *
+     * @return Scroll up Icon
+     */
+    public Icon getUpIcon() {
+        return upIcon;
+    }
+
+    /**
+     * Sets the Icon used to scroll up
+     * <p/>
+     * The callback of the Icon is replaced
+     *
+     * @param upIcon Scroll up Icon
+     */
+    public void setUpIcon(Icon upIcon) {
+        this.upIcon = NavigationRow.prepare(upIcon, new IconCallback() {
+            @Override
+            public void run(Player viewer) {
+                scroll(viewer, -1);
+            }
+        });
+        this.markDirty(windowSize);
+    }
+
+    /**
+     * Gets the Icon used to scroll down
+     *
+     * @return Scroll down Icon
+     */
+    public Icon getDownIcon() {
+        return downIcon;
+    }
+
+    /**
+     * Sets the Icon used to scroll down
+     * <p/>
+     * The callback of the Icon is replaced
+     *
+     * @param downIcon Scroll down Icon
+     */
+    public void setDownIcon(Icon downIcon) {
+        this.downIcon = NavigationRow.prepare(downIcon, new IconCallback() {
+            @Override
+            public void run(Player viewer) {
+                scroll(viewer, 1);
+            }
+        });
+        this.markDirty(this.getSize() - 1);
+    }
+
+    /**
+     * Gets the number of rows a player has scrolled down by
+     *
+     * @param viewer Player viewing the Menu
+     * @return Number of rows scrolled, starting at 0
+     */
+    public int getOffset(Player viewer) {
+        Integer offset = offsets.get(viewer);
+        return offset == null ? 0 : offset;
+    }
+
+    /**
+     * Scrolls the window shown to a player
+     * <p/>
+     * If the player is viewing the Menu, only the slots that changed are sent to them
+     *
+     * @param viewer Player viewing the Menu
+     * @param rows   Number of rows to scroll by. Negative values scroll up
+     * @return Number of rows actually scrolled
+     */
+    public int scroll(Player viewer, int rows) {
+        MenuView view = this.getView(viewer);
+        int offset = getOffset(viewer);
+        int target = offset;
+        while (rows < 0 && target > 0) {
+            target--;
+            rows++;
+        }
+        while (rows > 0 && canScrollDown(view, target)) {
+            target++;
+            rows--;
+        }
+        if (target == offset) {
+            return 0;
+        }
+        offsets.put(viewer, target);
+
+        if (view != null) {
+            for (int i = 0; i <= windowSize; i++) {
+                view.markDirty(i);
+            }
+            view.markDirty(this.getSize() - 1);
+            this.render(view);
+        }
+        return target - offset;
+    }
+
+    private boolean canScrollDown(MenuView view, int offset) {
+        return getEntry(view, (offset + windowSize / 9) * 9) != null;
+    }
+
+    /**
+     * Registers an Icon to a certain slot in the last row of a Menu
+     * <p/>
+     * Slots that show Icons from the source, as well as the first and last slots of the last row, are reserved for
+     * scrolling
+     *
+     * @param slot Slot number to apply the Icon to
+     * @param icon Icon to apply to the slot, or null to clear the slot
+     * @throws java.lang.IllegalArgumentException if the slot number does not exist or is reserved for scrolling
+     */
+    @Override
+    public void setSlot(int slot, Icon icon) {
+        NavigationRow.checkSlot(slot, windowSize, this.getSize(), "scrolling");
+        super.setSlot(slot, icon);
+    }
+
+    @Override
+    protected Icon getIcon(MenuView view, int slot) {
+        if (slot < windowSize) {
+            return getEntry(view, getOffset(view.getViewer()) * 9 + slot);
+        } else if (slot == windowSize) {
+            return getOffset(view.getViewer()) > 0 ? upIcon : null;
+        } else if (slot == this.getSize() - 1) {
+            return canScrollDown(view, getOffset(view.getViewer())) ? downIcon : null;
+        }
+        return super.getIcon(view, slot);
+    }
+
+    private Icon getEntry(MenuView view, int index) {
+        int size = source.size();
+        if (index < 0 || (size != PageSource.UNKNOWN_SIZE && index >= size)) {
+            return null;
+        }
+        int chunk = index / chunkSize;
+        List<Icon> icons = chunks.get(chunk);
+        if (icons == null) {
+            fetch(chunk, view);
+            icons = chunks.get(chunk); // Chunks supplied immediately are available straight away
+            if (icons == null) {
+                return placeholder;
+            }
+        }
+        int position = index - chunk * chunkSize;
+        return position < icons.size() ? icons.get(position) : null;
+    }
+
+    private void fetch(final int chunk, final MenuView requester) {
+        if (failed.contains(chunk) || !loading.add(chunk)) {
+            return;
+        }
+        final ListenableFuture<List<Icon>> future = source.load(chunk * chunkSize, chunkSize);
+        fetching = true;
+        try {
+            future.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    // Futures completed before the listener is added run it straight away, while still fetching
+                    boolean immediate = fetching;
+                    loading.remove(chunk);
+                    try {
+                        chunks.put(chunk, new ArrayList<Icon>(future.get()));
+                    } catch (Exception e) {
+                        getPlugin().getLogger().log(Level.WARNING, "Failed to load icons " + (chunk * chunkSize) + "-" + ((chunk + 1) * chunkSize - 1) + " of menu " + getTitle(), e);
+                        failed(chunk);
+                        return;
+                    }
+                    if (!isDisposed()) {
+                        // The requesting view reads a chunk supplied immediately itself
+                        loaded(chunk, immediate ? requester : null);
+                    }
+                }
+            }, mainThread);
+        } finally {
+            fetching = false;
+        }
+    }
+
+    private void failed(final int chunk) {
+        failed.add(chunk);
+        getPlugin().getServer().getScheduler().runTaskLater(getPlugin(), new Runnable() {
+            @Override
+            public void run() {
+                failed.remove(chunk);
+                if (!isDisposed()) {
+                    // Views still showing the placeholder load the chunk again when they are rendered
+                    loaded(chunk, null);
+                }
+            }
+        }, RETRY_DELAY);
+    }
+
+    private void loaded(int chunk, MenuView requester) {
+        int first = chunk * chunkSize;
+        int last = first + chunkSize - 1;
+        boolean changed = false;
+        for (MenuView view : this.getViews()) {
+            if (view == requester) {
+                continue;
+            }
+            int start = getOffset(view.getViewer()) * 9;
+            // The entry just past the window decides whether the view can scroll down
+            if (start > last || start + windowSize < first) {
+                continue;
+            }
+            for (int i = Math.max(first, start); i <= Math.min(last, start + windowSize - 1); i++) {
+                view.markDirty(i - start);
+            }
+            view.markDirty(this.getSize() - 1);
+            changed = true;
+        }
+        if (changed) {
+            this.scheduleRender();
+        }
+    }
+
+    private boolean isPinned(int chunk) {
+        for (MenuView view : this.getViews()) {
+            int start = getOffset(view.getViewer()) * 9;
+            if (chunk >= start / chunkSize && chunk <= (start + windowSize) / chunkSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an incrementally loaded source of Icons shown by a {@link com.dsh105.menuapi.api.ScrollMenu}
+ * <p/>
+ * Icons are requested in chunks as players scroll, and may be supplied asynchronously
+ */
+public abstract class ScrollSource {
+
+    /**
+     * Gets the number of Icons in the source
+     * <p/>
+     * Sources of unknown size are scrolled through until a chunk shorter than requested is loaded
+     *
+     * @return Number of Icons, or {@link com.dsh105.menuapi.api.PageSource#UNKNOWN_SIZE} if not known
+     */
+    public int size() {
+        return PageSource.UNKNOWN_SIZE;
+    }
+
+    /**
+     * Loads a chunk of Icons
+     * <p/>
+     * The returned future may be completed on any thread
+     *
+     * @param offset Position of the first Icon to load
+     * @param count  Number of Icons to load
+     * @return Future completed with the loaded Icons. Fewer Icons than requested may only be supplied at the end of
+     * the source
+     */
+    public abstract ListenableFuture<List<Icon>> load(int offset, int count);
+
+    /**
+     * Creates a source backed by a list of Icons
+     * <p/>
+     * Chunks are supplied immediately. Changes to the list are reflected in chunks loaded afterwards
+     *
+     * @param icons List of Icons
+     * @return Source backed by the list
+     */
+    public static ScrollSource of(final List<? extends Icon> icons) {
+        return new ScrollSource() {
+            @Override
+            public int size() {
+                return icons.size();
+            }
+
+            @Override
+            public ListenableFuture<List<Icon>> load(int offset, int count) {
+                int from = Math.min(offset, icons.size());
+                int to = Math.min(offset + count, icons.size());
+                return Futures.<List<Icon>>immediateFuture(new ArrayList<Icon>(icons.subList(from, to)));
+            }
+        };
+    }
+}
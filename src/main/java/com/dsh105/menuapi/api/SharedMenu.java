@@ -0,0 +1,196 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Represents a Menu shown to many players at once, each with their own {@link com.dsh105.menuapi.api.MenuSession}
+ * <p/>
+ * Rather than creating a Menu for each player, a single SharedMenu shows its {@link com.dsh105.menuapi.api.MenuDefinition}
+ * to every player. Only one Menu is registered with the {@link com.dsh105.menuapi.api.MenuDispatcher}, and the Icons
+ * of the definition are rendered once and shared between viewers. A player's session may replace Icons in any slot
+ * and hold values for that player, which Icon callbacks can read through {@link #getSession(org.bukkit.entity.Player)}
+ * <p/>
+ * Changing the slots, title, size or click item of a SharedMenu changes them for every player and replaces its
+ * definition with a new one, leaving the previous definition unchanged. Sessions are kept until the player logs out or
+ * {@link #endSession(org.bukkit.entity.Player)} is called
+ */
+public class SharedMenu extends Menu {
+
+    private MenuDefinition definition;
+    private final Map<Player, MenuSession> sessions = new WeakHashMap<>();
+
+    /**
+     * Construct a new SharedMenu
+     *
+     * @param plugin     Plugin instance
+     * @param definition Definition shown to every player
+     */
+    public SharedMenu(Plugin plugin, MenuDefinition definition) {
+        super(plugin, definition.getTitle(), definition.getSize(), definition.getClickItem(), definition.getSlots());
+        this.definition = definition;
+    }
+
+    /**
+     * Gets the definition currently shown to every player
+     *
+     * @return Menu definition
+     */
+    public MenuDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Gets the session of a player, creating it if necessary
+     *
+     * @param viewer Player to get the session of
+     * @return Session of the player
+     */
+    public MenuSession getSession(Player viewer) {
+        MenuSession session = sessions.get(viewer);
+        if (session == null) {
+            session = new MenuSession(this, viewer);
+            sessions.put(viewer, session);
+        }
+        return session;
+    }
+
+    /**
+     * Gets whether a player has a session
+     *
+     * @param viewer Player to check
+     * @return True if the player has a session
+     */
+    public boolean hasSession(Player viewer) {
+        return sessions.containsKey(viewer);
+    }
+
+    /**
+     * Ends the session of a player, discarding any replaced Icons and stored values
+     * <p/>
+     * If the player is viewing the Menu, their open inventory is updated in place
+     *
+     * @param viewer Player to end the session of
+     */
+    public void endSession(Player viewer) {
+        MenuSession session = sessions.remove(viewer);
+        BitSet overridden = session == null ? null : session.getOverridden();
+        MenuView view = this.getView(viewer);
+        if (overridden != null && view != null) {
+            for (int i = overridden.nextSetBit(0); i >= 0; i = overridden.nextSetBit(i + 1)) {
+                view.markDirty(i);
+            }
+            this.render(view);
+        }
+    }
+
+    /**
+     * Gets the number of players with a session
+     *
+     * @return Number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Registers an Icon to a certain slot for every player, replacing the definition of the Menu
+     * <p/>
+     * Use {@link com.dsh105.menuapi.api.MenuSession#setIcon(int, Icon)} to change a slot for a single player
+     *
+     * @param slot Slot number to apply the Icon to
+     * @param icon Icon to apply to the slot, or null to clear the slot
+     * @throws java.lang.IllegalArgumentException if the slot number does not exist
+     */
+    @Override
+    public void setSlot(int slot, Icon icon) {
+        super.setSlot(slot, icon);
+        this.redefine();
+    }
+
+    /**
+     * Sets the inventory title of a Menu, replacing its definition
+     * <p/>
+     * The new title is used the next time the Menu is shown
+     *
+     * @param title New title
+     */
+    @Override
+    public void setTitle(String title) {
+        super.setTitle(title);
+        this.redefine();
+    }
+
+    /**
+     * Sets the click item that opens a Menu when clicked by a player, replacing its definition
+     *
+     * @param clickItem Click item to register, or null to remove it
+     */
+    @Override
+    public void setClickItem(ItemStack clickItem) {
+        super.setClickItem(clickItem);
+        this.redefine();
+    }
+
+    @Override
+    protected void setSize(int size) {
+        super.setSize(size);
+        this.redefine();
+    }
+
+    private void redefine() {
+        // Called from the Menu constructor before the definition has been set
+        if (definition != null) {
+            definition = new MenuDefinition(this.getTitle(), this.getSize(), this.getClickItem(), this.getSlots());
+        }
+    }
+
+    @Override
+    protected Icon getIcon(MenuView view, int slot) {
+        MenuSession session = sessions.get(view.getViewer());
+        if (session != null) {
+            Icon icon = session.getIcon(slot);
+            if (icon != null) {
+                return icon;
+            }
+        }
+        return super.getIcon(view, slot);
+    }
+
+    @Override
+    protected BitSet getViewerSlots(MenuView view) {
+        MenuSession session = sessions.get(view.getViewer());
+        return session == null ? null : session.getOverridden();
+    }
+
+    void update(MenuSession session, int slot) {
+        Player viewer = session.getViewer();
+        MenuView view = viewer == null ? null : this.getView(viewer);
+        if (view != null && sessions.get(viewer) == session) {
+            view.markDirty(slot);
+            this.render(view);
+        }
+    }
+}
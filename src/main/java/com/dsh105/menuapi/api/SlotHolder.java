@@ -19,18 +19,31 @@ package com.dsh105.menuapi.api;
 
 import org.bukkit.inventory.ItemStack;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Represents a slot holder that can be used to store icons for use in a {@link com.dsh105.menuapi.api.Menu}
+ * <p/>
+ * Icons are stored in an array indexed by slot number, alongside a bitset of the occupied slots
  */
 public abstract class SlotHolder {
 
-    protected HashMap<Integer, Icon> slots = new HashMap<>();
+    protected Icon[] slots = new Icon[0];
+    protected BitSet occupied = new BitSet();
     protected int size;
     protected String title;
     protected ItemStack clickItem;
 
+    private Map<Integer, Icon> slotView;
+
     protected SlotHolder() {
 
     }
@@ -46,17 +59,36 @@ public abstract class SlotHolder {
     protected SlotHolder(int size, String title, ItemStack clickItem, HashMap<Integer, Icon> slots) {
         setSize(size);
         this.title = title;
-        this.slots = slots;
         this.clickItem = clickItem;
+        for (Map.Entry<Integer, Icon> entry : slots.entrySet()) {
+            setSlot(entry.getKey(), entry.getValue());
+        }
     }
 
-    protected void setSize(int size) {
+    static int normalizeSize(int size) {
         if (size < 0) {
-            size = 9;
+            return 9;
         } else if (size % 9 != 0) {
-            size += 9 - (size % 9);
+            return size + 9 - (size % 9);
         }
+        return size;
+    }
+
+    static void checkSlot(int slot, int size) {
+        if (slot < 0 || slot >= size) {
+            throw new IllegalArgumentException("Slot " + slot + " does not exist. Failed to apply Icon to slot.");
+        }
+    }
+
+    protected void setSize(int size) {
+        size = normalizeSize(size);
         this.size = size;
+        if (this.slots.length != size) {
+            this.slots = Arrays.copyOf(this.slots, size);
+            if (this.occupied.length() > size) {
+                this.occupied.clear(size, this.occupied.length());
+            }
+        }
     }
 
     protected void setTitle(String title) {
@@ -110,21 +142,49 @@ public abstract class SlotHolder {
      * @see com.dsh105.menuapi.api.Icon for more information on adding Icons to a SlotHolder
      */
     public HashMap<Integer, Icon> getSlots() {
-        return new HashMap<>(slots);
+        HashMap<Integer, Icon> copy = new HashMap<>();
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            copy.put(i, slots[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Gets a read-only view of the {@link com.dsh105.menuapi.api.Icon} slots registered with a SlotHolder
+     * <p/>
+     * Unlike {@link #getSlots()}, the returned map is not copied and reflects later changes to the SlotHolder
+     *
+     * @return Unmodifiable map of slot numbers to Icons
+     */
+    public Map<Integer, Icon> getSlotView() {
+        if (slotView == null) {
+            slotView = new SlotView();
+        }
+        return slotView;
+    }
+
+    /**
+     * Visits every occupied slot of a SlotHolder in ascending slot order without copying the registered slots
+     *
+     * @param visitor Visitor to call for each occupied slot
+     */
+    public void forEachSlot(SlotVisitor visitor) {
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            visitor.visit(i, slots[i]);
+        }
     }
 
     /**
      * Registers an Icon to a certain slot in a SlotHolder
      *
      * @param slot Slot number to apply the Icon to
-     * @param icon Icon to apply to the slot
+     * @param icon Icon to apply to the slot, or null to clear the slot
      * @throws java.lang.IllegalArgumentException if the slot number does not exist
      */
     public void setSlot(int slot, Icon icon) {
-        if (slot >= this.size) {
-            throw new IllegalArgumentException("Slot " + slot + " does not exist. Failed to apply Icon to slot.");
-        }
-        this.slots.put(slot, icon);
+        checkSlot(slot, this.size);
+        this.slots[slot] = icon;
+        this.occupied.set(slot, icon != null);
     }
 
     /**
@@ -134,6 +194,63 @@ public abstract class SlotHolder {
      * @return An Icon if the slot is registered, null if not
      */
     public Icon getSlot(int slot) {
-        return this.slots.get(slot);
+        return slot < 0 || slot >= this.slots.length ? null : this.slots[slot];
+    }
+
+    private class SlotView extends AbstractMap<Integer, Icon> {
+
+        private final Set<Entry<Integer, Icon>> entrySet = new AbstractSet<Entry<Integer, Icon>>() {
+            @Override
+            public Iterator<Entry<Integer, Icon>> iterator() {
+                return new Iterator<Entry<Integer, Icon>>() {
+                    private int next = occupied.nextSetBit(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public Entry<Integer, Icon> next() {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<Integer, Icon> entry = new SimpleImmutableEntry<>(next, slots[next]);
+                        next = occupied.nextSetBit(next + 1);
+                        return entry;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return occupied.cardinality();
+            }
+        };
+
+        @Override
+        public Set<Entry<Integer, Icon>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public Icon get(Object key) {
+            return key instanceof Integer ? getSlot((Integer) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return occupied.cardinality();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+/**
+ * Represents a visitor for the occupied slots of a {@link com.dsh105.menuapi.api.SlotHolder}
+ *
+ * @see com.dsh105.menuapi.api.SlotHolder#forEachSlot(SlotVisitor)
+ */
+public interface SlotVisitor {
+
+    /**
+     * Called for each occupied slot, in ascending slot order
+     *
+     * @param slot Slot number
+     * @param icon Icon registered to the slot
+     */
+    void visit(int slot, Icon icon);
+}
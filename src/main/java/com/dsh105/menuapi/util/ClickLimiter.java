@@ -0,0 +1,194 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often each player may click, using a token bucket and an optional debounce window
+ * <p/>
+ * Each player is given a bucket holding up to a certain number of clicks, refilled at a fixed rate. Clicks made while
+ * the bucket is empty, or sooner than the debounce window after the last accepted click, are rejected. Players are
+ * weakly referenced, so their state is dropped once they log out
+ * <p/>
+ * Limiters are intended to be used from the main server thread only. Click counters may be read from any thread
+ */
+public class ClickLimiter {
+
+    private final int capacity;
+    private final double nanosPerClick;
+    private final long debounce;
+    private final Map<Player, Bucket> buckets = new WeakHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong debounced = new AtomicLong();
+
+    /**
+     * Constructs a new ClickLimiter without a debounce window
+     *
+     * @param capacity        Maximum number of clicks a player may make in a burst
+     * @param clicksPerSecond Rate at which clicks become available again
+     */
+    public ClickLimiter(int capacity, double clicksPerSecond) {
+        this(capacity, clicksPerSecond, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new ClickLimiter
+     *
+     * @param capacity        Maximum number of clicks a player may make in a burst, or 0 to only apply the debounce
+     *                        window
+     * @param clicksPerSecond Rate at which clicks become available again
+     * @param debounce        Minimum time between two accepted clicks of a player
+     * @param unit            Unit of the debounce window
+     */
+    public ClickLimiter(int capacity, double clicksPerSecond, long debounce, TimeUnit unit) {
+        if (capacity > 0 && clicksPerSecond <= 0) {
+            throw new IllegalArgumentException("Click rate must be positive.");
+        }
+        this.capacity = capacity;
+        this.nanosPerClick = capacity > 0 ? TimeUnit.SECONDS.toNanos(1) / clicksPerSecond : 0;
+        this.debounce = unit.toNanos(debounce);
+    }
+
+    /**
+     * Constructs a ClickLimiter that only applies a debounce window
+     *
+     * @param debounce Minimum time between two accepted clicks of a player
+     * @param unit     Unit of the debounce window
+     * @return Constructed ClickLimiter
+     */
+    public static ClickLimiter debounce(long debounce, TimeUnit unit) {
+        return new ClickLimiter(0, 0, debounce, unit);
+    }
+
+    /**
+     * Attempts to take a click for a player
+     *
+     * @param player Player clicking
+     * @return True if the click is allowed, false if it is to be rejected
+     */
+    public boolean tryClick(Player player) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(player);
+        if (bucket == null) {
+            bucket = new Bucket(capacity, now);
+            buckets.put(player, bucket);
+        } else if (debounce > 0 && now - bucket.lastClick < debounce) {
+            debounced.incrementAndGet();
+            return false;
+        }
+
+        if (capacity > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) / nanosPerClick);
+            bucket.lastRefill = now;
+            if (bucket.tokens < 1) {
+                rateLimited.incrementAndGet();
+                return false;
+            }
+            bucket.tokens--;
+        }
+        bucket.lastClick = now;
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Checks whether a click of a player would be allowed, without taking it or counting it
+     * <p/>
+     * Used to check several limiters before taking a click from any of them
+     *
+     * @param player Player clicking
+     * @return True if {@link #tryClick(org.bukkit.entity.Player)} would allow the click
+     */
+    public boolean canClick(Player player) {
+        Bucket bucket = buckets.get(player);
+        if (bucket == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (debounce > 0 && now - bucket.lastClick < debounce) {
+            return false;
+        }
+        return capacity <= 0 || Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) / nanosPerClick) >= 1;
+    }
+
+    /**
+     * Gets the number of clicks accepted
+     *
+     * @return Number of accepted clicks
+     */
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    /**
+     * Gets the number of clicks rejected because a player's bucket was empty
+     *
+     * @return Number of rate limited clicks
+     */
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Gets the number of clicks rejected because they were made within the debounce window
+     *
+     * @return Number of debounced clicks
+     */
+    public long getDebounced() {
+        return debounced.get();
+    }
+
+    /**
+     * Gets the total number of clicks rejected
+     *
+     * @return Number of rejected clicks
+     */
+    public long getRejected() {
+        return rateLimited.get() + debounced.get();
+    }
+
+    /**
+     * Resets the click counters
+     */
+    public void resetCounters() {
+        accepted.set(0);
+        rateLimited.set(0);
+        debounced.set(0);
+    }
+
+    private static class Bucket {
+
+        private double tokens;
+        private long lastRefill;
+        private long lastClick;
+
+        private Bucket(int tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+            this.lastClick = Long.MIN_VALUE / 2;
+        }
+    }
+}
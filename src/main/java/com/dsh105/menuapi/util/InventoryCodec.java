@@ -0,0 +1,349 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import com.dsh105.commodus.StringUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes and decodes Inventories in a compact binary form, with optional compression
+ * <p/>
+ * Items are stored using their Bukkit serialized form ({@link org.bukkit.configuration.serialization.ConfigurationSerializable}),
+ * written as tagged binary values instead of YAML
+ * <p/>
+ * Decoding checks every size, count and slot against the data remaining and the size of the inventory, so corrupt or
+ * hostile data is reported as an IOException rather than exhausting memory
+ */
+public class InventoryCodec {
+
+    private static final int MAGIC = 0x4D49; // "MI"
+    private static final byte VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * Largest accepted length of the data of a single encoded inventory, after decompression
+     */
+    static final int MAX_LENGTH = 1 << 24;
+
+    private static final int MAX_SIZE = 54;
+    private static final int MAX_DEPTH = 32;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_SHORT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_BYTE = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_FLOAT = 7;
+    private static final byte TAG_BOOLEAN = 8;
+    private static final byte TAG_LIST = 9;
+    private static final byte TAG_MAP = 10;
+    private static final byte TAG_SERIALIZABLE = 11;
+
+    private InventoryCodec() {
+    }
+
+    /**
+     * Encodes an Inventory
+     *
+     * @param inventory Inventory to encode
+     * @param compress  True if the encoded contents are to be compressed
+     * @return Encoded inventory
+     * @throws java.io.IOException if the inventory is larger than 54 slots or not a multiple of 9, or an item in the
+     *                             inventory could not be encoded
+     */
+    public static byte[] encode(Inventory inventory, boolean compress) throws IOException {
+        int size = inventory.getSize();
+        if (size == 0 || size % 9 != 0 || size > MAX_SIZE) {
+            throw new IOException("Cannot encode inventory of size " + size);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeShort(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(compress ? FLAG_COMPRESSED : 0);
+        header.flush();
+
+        OutputStream target = compress ? new DeflaterOutputStream(bytes) : bytes;
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeUTF(StringUtil.limitCharacters(inventory.getTitle(), 32));
+        out.writeShort(inventory.getSize());
+
+        ItemStack[] contents = inventory.getContents();
+        int count = 0;
+        for (ItemStack item : contents) {
+            if (item != null) {
+                count++;
+            }
+        }
+        out.writeShort(count);
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] != null) {
+                out.writeShort(i);
+                writeValue(out, contents[i]);
+            }
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an Inventory encoded by {@link #encode(org.bukkit.inventory.Inventory, boolean)}
+     *
+     * @param encoded Encoded inventory
+     * @return Decoded inventory
+     * @throws java.io.IOException if the data is not a valid encoded inventory
+     */
+    public static Inventory decode(byte[] encoded) throws IOException {
+        if (!isEncoded(encoded)) {
+            throw new IOException("Not an encoded inventory.");
+        }
+        if (encoded[2] != VERSION) {
+            throw new IOException("Unsupported inventory format version: " + encoded[2]);
+        }
+        InputStream source = new ByteArrayInputStream(encoded, 4, encoded.length - 4);
+        if ((encoded[3] & FLAG_COMPRESSED) != 0) {
+            source = new InflaterInputStream(source);
+        }
+        // Compressed data may inflate to far more than its own length, so it is bounded by the maximum length instead
+        LimitedInputStream limited = new LimitedInputStream(source, (encoded[3] & FLAG_COMPRESSED) != 0 ? MAX_LENGTH : encoded.length - 4);
+        DataInputStream in = new DataInputStream(limited);
+
+        String title = in.readUTF();
+        int size = in.readUnsignedShort();
+        if (size == 0 || size % 9 != 0 || size > MAX_SIZE) {
+            throw new IOException("Invalid inventory size: " + size);
+        }
+        int count = in.readUnsignedShort();
+        if (count > size) {
+            throw new IOException("Invalid item count: " + count);
+        }
+        Inventory inventory = Bukkit.createInventory(null, size, title);
+        for (int n = 0; n < count; n++) {
+            int slot = in.readUnsignedShort();
+            if (slot >= size) {
+                throw new IOException("Invalid slot: " + slot);
+            }
+            Object item = readValue(in, limited, 0);
+            if (!(item instanceof ItemStack)) {
+                throw new IOException("Slot " + slot + " does not hold an item.");
+            }
+            inventory.setItem(slot, (ItemStack) item);
+        }
+        return inventory;
+    }
+
+    /**
+     * Gets whether data was encoded by this codec
+     *
+     * @param data Data to check
+     * @return True if the data starts with the header written by this codec
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 4 && ((data[0] & 0xFF) << 8 | (data[1] & 0xFF)) == MAGIC;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Short) {
+            out.writeByte(TAG_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(TAG_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, (Map<?, ?>) value);
+        } else if (value instanceof ConfigurationSerializable) {
+            out.writeByte(TAG_SERIALIZABLE);
+            out.writeUTF(ConfigurationSerialization.getAlias(((ConfigurationSerializable) value).getClass()));
+            writeMap(out, ((ConfigurationSerializable) value).serialize());
+        } else {
+            throw new IOException("Cannot encode value of type " + value.getClass().getName());
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            out.writeUTF(String.valueOf(entry.getKey()));
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, LimitedInputStream limit, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Values are nested too deeply.");
+        }
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_INT:
+                return in.readInt();
+            case TAG_SHORT:
+                return in.readShort();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_BYTE:
+                return in.readByte();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_LIST:
+                int size = in.readInt();
+                if (size < 0 || size > limit.remaining()) { // Each element takes at least its tag
+                    throw new IOException("Invalid list length: " + size);
+                }
+                List<Object> list = new ArrayList<>(Math.min(size, 64));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, limit, depth + 1));
+                }
+                return list;
+            case TAG_MAP:
+                return readMap(in, limit, depth);
+            case TAG_SERIALIZABLE:
+                String alias = in.readUTF();
+                Map<String, Object> serialized = readMap(in, limit, depth);
+                serialized.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, alias);
+                ConfigurationSerializable deserialized;
+                try {
+                    deserialized = ConfigurationSerialization.deserializeObject(serialized);
+                } catch (RuntimeException e) {
+                    throw new IOException("Could not deserialize value of type " + alias, e);
+                }
+                if (deserialized == null) {
+                    throw new IOException("Could not deserialize value of type " + alias);
+                }
+                return deserialized;
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in, LimitedInputStream limit, int depth) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > limit.remaining() / 3) { // Each entry takes at least a key length and a tag
+            throw new IOException("Invalid map length: " + size);
+        }
+        Map<String, Object> map = new LinkedHashMap<>(Math.min(size, 64) * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), readValue(in, limit, depth + 1));
+        }
+        return map;
+    }
+
+    /**
+     * Counts down the bytes that may still be read, ending the stream once the limit is reached
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        long remaining() {
+            return remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read();
+            if (read >= 0) {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(Math.min(count, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+    }
+}
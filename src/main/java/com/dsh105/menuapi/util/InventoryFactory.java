@@ -26,11 +26,42 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * Original source: https://gist.github.com/DarkBlade12/9002495
+ * <p/>
+ * Inventories may be encoded using either the original YAML format, or the more compact binary format provided by
+ * {@link com.dsh105.menuapi.util.InventoryCodec}. The format is detected automatically when decoding
+ * <p/>
+ * Large numbers of Inventories can be stored in a single stream using {@link #newWriter(java.io.OutputStream, boolean)}
+ * and {@link #newReader(java.io.InputStream)}
  */
 public class InventoryFactory {
 
+    /**
+     * Represents a format an Inventory can be encoded in
+     */
+    public enum Encoding {
+
+        /**
+         * Bukkit YAML configuration
+         */
+        YAML,
+
+        /**
+         * Binary, see {@link com.dsh105.menuapi.util.InventoryCodec}
+         */
+        BINARY,
+
+        /**
+         * Compressed binary, see {@link com.dsh105.menuapi.util.InventoryCodec}
+         */
+        BINARY_COMPRESSED
+    }
+
     /**
      * Encodes an Inventory into a Base64 String
      *
@@ -38,6 +69,22 @@ public class InventoryFactory {
      * @return string the encoded inventory
      */
     public static String encodeInventory(Inventory inventory) {
+        return encodeInventory(inventory, Encoding.YAML);
+    }
+
+    /**
+     * Encodes an Inventory into a Base64 String using the given format
+     *
+     * @param inventory inventory to be encoded
+     * @param encoding  format to encode the inventory in
+     * @return string the encoded inventory, or null if the inventory could not be encoded
+     */
+    public static String encodeInventory(Inventory inventory, Encoding encoding) {
+        if (encoding != Encoding.YAML) {
+            byte[] encoded = encodeBytes(inventory, encoding == Encoding.BINARY_COMPRESSED);
+            return encoded == null ? null : new String(Base64Coder.encode(encoded));
+        }
+
         YamlConfiguration configuration = new YamlConfiguration();
         configuration.set("Title", StringUtil.limitCharacters(inventory.getTitle(), 32));
         configuration.set("Size", inventory.getSize());
@@ -57,9 +104,14 @@ public class InventoryFactory {
      * @return inventory the decoded Base64 string
      */
     public static Inventory decodeString(String encoded) {
+        byte[] decoded = Base64Coder.decode(encoded);
+        if (InventoryCodec.isEncoded(decoded)) {
+            return decodeBytes(decoded);
+        }
+
         YamlConfiguration configuration = new YamlConfiguration();
         try {
-            configuration.loadFromString(Base64Coder.decodeString(encoded));
+            configuration.loadFromString(new String(decoded));
             Inventory i = Bukkit.createInventory(null, configuration.getInt("Size"), StringUtil.limitCharacters(configuration.getString("Title"), 32));
             ConfigurationSection contents = configuration.getConfigurationSection("Contents");
             for (String index : contents.getKeys(false)) {
@@ -70,4 +122,56 @@ public class InventoryFactory {
             return null;
         }
     }
+
+    /**
+     * Encodes an Inventory into binary form
+     *
+     * @param inventory inventory to be encoded
+     * @param compress  true if the encoded inventory is to be compressed
+     * @return the encoded inventory, or null if the inventory could not be encoded
+     */
+    public static byte[] encodeBytes(Inventory inventory, boolean compress) {
+        try {
+            return InventoryCodec.encode(inventory, compress);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes an Inventory from binary form
+     *
+     * @param encoded data to be decoded into an inventory
+     * @return inventory the decoded data, or null if the data could not be decoded
+     */
+    public static Inventory decodeBytes(byte[] encoded) {
+        try {
+            return InventoryCodec.decode(encoded);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a writer that appends many encoded Inventories to a single stream
+     *
+     * @param out      stream to write to
+     * @param compress true if each inventory is to be compressed
+     * @return writer for the stream
+     * @throws java.io.IOException if the stream header could not be written
+     */
+    public static InventoryWriter newWriter(OutputStream out, boolean compress) throws IOException {
+        return new InventoryWriter(out, compress);
+    }
+
+    /**
+     * Creates a reader for a stream written by an {@link com.dsh105.menuapi.util.InventoryWriter}
+     *
+     * @param in stream to read from
+     * @return reader for the stream
+     * @throws java.io.IOException if the stream header could not be read or is invalid
+     */
+    public static InventoryReader newReader(InputStream in) throws IOException {
+        return new InventoryReader(in);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.bukkit.inventory.Inventory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads Inventories written by an {@link com.dsh105.menuapi.util.InventoryWriter} one at a time
+ * <p/>
+ * Only the Inventory currently being read is held in memory. Frames longer than any encoded Inventory could be are
+ * rejected before they are read
+ */
+public class InventoryReader implements Closeable {
+
+    private final DataInputStream in;
+
+    /**
+     * Constructs a new InventoryReader
+     *
+     * @param in Stream to read from
+     * @throws java.io.IOException if the stream header could not be read or is invalid
+     */
+    public InventoryReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        int magic = this.in.readInt();
+        if (magic != InventoryWriter.MAGIC) {
+            throw new IOException("Not an inventory stream.");
+        }
+    }
+
+    /**
+     * Constructs a new InventoryReader
+     *
+     * @param channel Channel to read from
+     * @throws java.io.IOException if the stream header could not be read or is invalid
+     */
+    public InventoryReader(ReadableByteChannel channel) throws IOException {
+        this(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Reads the next encoded Inventory without decoding it
+     *
+     * @return Encoded Inventory, or null if the end of the stream has been reached
+     * @throws java.io.IOException if the stream could not be read
+     */
+    public byte[] readEncoded() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+        if (length < 0 || length > InventoryCodec.MAX_LENGTH) {
+            throw new IOException("Invalid inventory length: " + length);
+        }
+        byte[] encoded = new byte[length];
+        try {
+            in.readFully(encoded);
+        } catch (EOFException e) {
+            throw new EOFException("Unexpected end of inventory stream.");
+        }
+        return encoded;
+    }
+
+    /**
+     * Reads and decodes the next Inventory
+     *
+     * @return Decoded Inventory, or null if the end of the stream has been reached
+     * @throws java.io.IOException if the stream could not be read or the Inventory could not be decoded
+     */
+    public Inventory read() throws IOException {
+        byte[] encoded = readEncoded();
+        return encoded == null ? null : InventoryCodec.decode(encoded);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.bukkit.inventory.Inventory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes many encoded Inventories to a single stream
+ * <p/>
+ * Each Inventory is encoded using {@link com.dsh105.menuapi.util.InventoryCodec} and written as a length-prefixed
+ * frame, allowing them to be read back one at a time with an {@link com.dsh105.menuapi.util.InventoryReader}
+ */
+public class InventoryWriter implements Closeable, Flushable {
+
+    static final int MAGIC = 0x4D495301; // "MIS", version 1
+
+    private final DataOutputStream out;
+    private final boolean compress;
+    private int written;
+
+    /**
+     * Constructs a new InventoryWriter
+     *
+     * @param out      Stream to write to
+     * @param compress True if each Inventory is to be compressed
+     * @throws java.io.IOException if the stream header could not be written
+     */
+    public InventoryWriter(OutputStream out, boolean compress) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.compress = compress;
+        this.out.writeInt(MAGIC);
+    }
+
+    /**
+     * Constructs a new InventoryWriter
+     *
+     * @param channel  Channel to write to
+     * @param compress True if each Inventory is to be compressed
+     * @throws java.io.IOException if the stream header could not be written
+     */
+    public InventoryWriter(WritableByteChannel channel, boolean compress) throws IOException {
+        this(Channels.newOutputStream(channel), compress);
+    }
+
+    /**
+     * Encodes and writes an Inventory
+     *
+     * @param inventory Inventory to write
+     * @throws java.io.IOException if the Inventory could not be encoded or written
+     */
+    public void write(Inventory inventory) throws IOException {
+        byte[] encoded = InventoryCodec.encode(inventory, compress);
+        if (encoded.length > InventoryCodec.MAX_LENGTH) {
+            throw new IOException("Encoded inventory is too long: " + encoded.length + " bytes");
+        }
+        out.writeInt(encoded.length);
+        out.write(encoded);
+        written++;
+    }
+
+    /**
+     * Gets the number of Inventories written so far
+     *
+     * @return Number of Inventories written
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executes tasks on the main server thread
+ * <p/>
+ * Tasks submitted from the main thread are run immediately, while tasks submitted from other threads are scheduled to
+ * run on the next server tick
+ */
+public class MainThreadExecutor implements Executor {
+
+    private final Plugin plugin;
+
+    /**
+     * Constructs a new MainThreadExecutor
+     *
+     * @param plugin Plugin to schedule tasks for
+     */
+    public MainThreadExecutor(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (Bukkit.isPrimaryThread()) {
+            command.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, command);
+        }
+    }
+}
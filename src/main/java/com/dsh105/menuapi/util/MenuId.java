@@ -17,14 +17,35 @@
 
 package com.dsh105.menuapi.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates unique IDs for Menus
+ * <p/>
+ * IDs are safe to allocate from any thread. Each thread reserves a block of IDs at a time, so threads only contend on
+ * the shared counter once per block
+ */
 public class MenuId {
 
-    private static long lastId = Long.MIN_VALUE;
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final AtomicLong nextBlock = new AtomicLong(Long.MIN_VALUE);
+    private static final ThreadLocal<long[]> block = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[]{0, 0}; // Next ID, end of block (exclusive)
+        }
+    };
 
     private MenuId() {
     }
 
     public static long next() {
-        return ++lastId;
+        long[] range = block.get();
+        if (range[0] == range[1]) {
+            range[0] = nextBlock.getAndAdd(BLOCK_SIZE);
+            range[1] = range[0] + BLOCK_SIZE;
+        }
+        return range[0]++;
     }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of {@link com.dsh105.menuapi.util.MenuStats} recorded for each Menu
+ * <p/>
+ * Metrics are disabled by default. While disabled, Menus only check a single flag and record nothing. Menus are
+ * grouped by their metrics name (see {@link com.dsh105.menuapi.api.Menu#setMetricsName(String)}), and Menus without
+ * one are recorded under {@link #UNNAMED}
+ * <p/>
+ * At most {@link #MAX_NAMES} metrics names are recorded. Once that many exist, statistics for any further name are
+ * recorded under {@link #OVERFLOW}
+ */
+public class MenuMetrics {
+
+    /**
+     * Metrics name used for Menus that have not been given one
+     */
+    public static final String UNNAMED = "unnamed";
+
+    /**
+     * Metrics name used once {@link #MAX_NAMES} metrics names are being recorded
+     */
+    public static final String OVERFLOW = "other";
+
+    /**
+     * Maximum number of metrics names recorded, not including {@link #OVERFLOW}
+     */
+    public static final int MAX_NAMES = 256;
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final ConcurrentMap<String, MenuStats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    private MenuMetrics() {
+    }
+
+    /**
+     * Gets whether metrics are being recorded
+     *
+     * @return True if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether metrics are recorded
+     * <p/>
+     * Statistics recorded so far are kept when metrics are disabled
+     *
+     * @param enabled True to record metrics
+     */
+    public static void setEnabled(boolean enabled) {
+        MenuMetrics.enabled = enabled;
+    }
+
+    /**
+     * Gets the statistics recorded under a metrics name, creating them if necessary
+     *
+     * @param name Metrics name, or null for {@link #UNNAMED}
+     * @return Statistics for the given name, or for {@link #OVERFLOW} if too many names are already recorded
+     */
+    public static MenuStats getStats(String name) {
+        if (name == null) {
+            name = UNNAMED;
+        }
+        MenuStats stats = STATS.get(name);
+        if (stats == null) {
+            synchronized (STATS) {
+                stats = STATS.get(name);
+                if (stats == null) {
+                    if (STATS.size() >= MAX_NAMES && !name.equals(OVERFLOW)) {
+                        return getStats(OVERFLOW);
+                    }
+                    stats = new MenuStats(name);
+                    STATS.put(name, stats);
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Removes the statistics recorded under a metrics name
+     * <p/>
+     * Menus still using the name keep recording to the removed statistics until their metrics name is set again
+     *
+     * @param name Metrics name
+     * @return Statistics that were removed, or null if none were recorded under the name
+     */
+    public static MenuStats remove(String name) {
+        return name == null ? null : STATS.remove(name);
+    }
+
+    /**
+     * Gets the statistics recorded for every metrics name
+     *
+     * @return Unmodifiable map of metrics names to their statistics
+     */
+    public static Map<String, MenuStats> getAllStats() {
+        return Collections.unmodifiableMap(STATS);
+    }
+
+    /**
+     * Clears the statistics recorded for every metrics name
+     */
+    public static void reset() {
+        for (MenuStats stats : STATS.values()) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * Writes all recorded statistics in the Prometheus text exposition format
+     *
+     * @param out Destination to write to
+     * @throws IOException if the destination could not be written to
+     */
+    public static void writePrometheus(Appendable out) throws IOException {
+        Map<String, MenuStats> sorted = new TreeMap<>(STATS);
+
+        out.append("# TYPE menuapi_opens_total counter\n");
+        for (MenuStats stats : sorted.values()) {
+            writeSample(out, "menuapi_opens_total", stats.getName(), null, null, stats.getOpens());
+        }
+        out.append("# TYPE menuapi_clicks_total counter\n");
+        for (MenuStats stats : sorted.values()) {
+            writeSample(out, "menuapi_clicks_total", stats.getName(), null, null, stats.getClicks());
+        }
+        out.append("# TYPE menuapi_rejected_clicks_total counter\n");
+        for (MenuStats stats : sorted.values()) {
+            writeSample(out, "menuapi_rejected_clicks_total", stats.getName(), null, null, stats.getRejectedClicks());
+        }
+        out.append("# TYPE menuapi_slot_clicks_total counter\n");
+        for (MenuStats stats : sorted.values()) {
+            for (int i = 0; i < MenuStats.MAX_SLOTS; i++) {
+                long clicks = stats.getSlotClicks(i);
+                if (clicks > 0) {
+                    writeSample(out, "menuapi_slot_clicks_total", stats.getName(), "slot", String.valueOf(i), clicks);
+                }
+            }
+        }
+        out.append("# TYPE menuapi_slot_render_seconds_total counter\n");
+        for (MenuStats stats : sorted.values()) {
+            for (int i = 0; i < MenuStats.MAX_SLOTS; i++) {
+                if (stats.getSlotRenders(i) > 0) {
+                    writeSample(out, "menuapi_slot_render_seconds_total", stats.getName(), "slot", String.valueOf(i), stats.getSlotRenderNanos(i) / 1e9);
+                }
+            }
+        }
+
+        for (Latency latency : Latency.values()) {
+            writeSummaries(out, latency, sorted);
+        }
+    }
+
+    /**
+     * Gets all recorded statistics in the Prometheus text exposition format
+     *
+     * @return Recorded statistics
+     */
+    public static String toPrometheus() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writePrometheus(builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringBuilder does not throw
+        }
+        return builder.toString();
+    }
+
+    private static void writeSummaries(Appendable out, Latency latency, Map<String, MenuStats> stats) throws IOException {
+        String metric = latency.metric;
+        out.append("# TYPE ").append(metric).append(" summary\n");
+        for (MenuStats menuStats : stats.values()) {
+            LatencyHistogram.Snapshot snapshot = latency.getSnapshot(menuStats);
+            for (double quantile : QUANTILES) {
+                writeSample(out, metric, menuStats.getName(), "quantile", String.valueOf(quantile), snapshot.getQuantile(quantile) / 1e9);
+            }
+            writeSample(out, metric + "_sum", menuStats.getName(), null, null, snapshot.getSum(TimeUnit.NANOSECONDS) / 1e9);
+            writeSample(out, metric + "_count", menuStats.getName(), null, null, snapshot.getCount());
+        }
+    }
+
+    private static void writeSample(Appendable out, String metric, String menu, String label, String labelValue, Object value) throws IOException {
+        out.append(metric).append("{menu=\"").append(escape(menu)).append('"');
+        if (label != null) {
+            out.append(',').append(label).append("=\"").append(escape(labelValue)).append('"');
+        }
+        out.append("} ").append(String.valueOf(value)).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Latencies exported as summaries, in the order they are written
+     */
+    private enum Latency {
+
+        SHOW("menuapi_show_seconds") {
+            @Override
+            LatencyHistogram.Snapshot getSnapshot(MenuStats stats) {
+                return stats.getShowLatency();
+            }
+        },
+        RENDER("menuapi_render_seconds") {
+            @Override
+            LatencyHistogram.Snapshot getSnapshot(MenuStats stats) {
+                return stats.getRenderLatency();
+            }
+        },
+        CLICK_EVENT("menuapi_click_event_seconds") {
+            @Override
+            LatencyHistogram.Snapshot getSnapshot(MenuStats stats) {
+                return stats.getClickEventLatency();
+            }
+        },
+        CALLBACK("menuapi_callback_seconds") {
+            @Override
+            LatencyHistogram.Snapshot getSnapshot(MenuStats stats) {
+                return stats.getCallbackLatency();
+            }
+        };
+
+        private final String metric;
+
+        Latency(String metric) {
+            this.metric = metric;
+        }
+
+        abstract LatencyHistogram.Snapshot getSnapshot(MenuStats stats);
+    }
+}
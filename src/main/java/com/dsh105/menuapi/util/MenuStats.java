@@ -0,0 +1,227 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Holds the counters and latency histograms recorded for Menus sharing a metrics name
+ * <p/>
+ * Statistics are only recorded while {@link com.dsh105.menuapi.util.MenuMetrics} is enabled
+ */
+public class MenuStats {
+
+    /**
+     * Number of slots tracked individually, matching the largest chest inventory
+     */
+    public static final int MAX_SLOTS = 54;
+
+    private final String name;
+
+    private final AtomicLong opens = new AtomicLong();
+    private final AtomicLong clicks = new AtomicLong();
+    private final AtomicLong rejectedClicks = new AtomicLong();
+
+    private final LatencyHistogram showLatency = new LatencyHistogram();
+    private final LatencyHistogram renderLatency = new LatencyHistogram();
+    private final LatencyHistogram clickEventLatency = new LatencyHistogram();
+    private final LatencyHistogram callbackLatency = new LatencyHistogram();
+
+    private final AtomicLongArray slotClicks = new AtomicLongArray(MAX_SLOTS);
+    private final AtomicLongArray slotRenders = new AtomicLongArray(MAX_SLOTS);
+    private final AtomicLongArray slotRenderNanos = new AtomicLongArray(MAX_SLOTS);
+
+    MenuStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the metrics name these statistics are recorded under
+     *
+     * @return Metrics name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a Menu being shown to a player
+     *
+     * @param nanos Time taken to show the Menu, in nanoseconds
+     */
+    public void recordShow(long nanos) {
+        opens.incrementAndGet();
+        showLatency.record(nanos);
+    }
+
+    /**
+     * Records an Icon being rendered for a player
+     *
+     * @param slot  Slot the Icon was rendered in
+     * @param nanos Time taken to render the Icon, in nanoseconds
+     */
+    public void recordRender(int slot, long nanos) {
+        renderLatency.record(nanos);
+        if (slot >= 0 && slot < MAX_SLOTS) {
+            slotRenders.incrementAndGet(slot);
+            slotRenderNanos.addAndGet(slot, nanos);
+        }
+    }
+
+    /**
+     * Records an {@link com.dsh105.menuapi.api.event.IconClickEvent} being called
+     *
+     * @param slot  Slot that was clicked
+     * @param nanos Time taken to call the event, in nanoseconds
+     */
+    public void recordClickEvent(int slot, long nanos) {
+        clicks.incrementAndGet();
+        clickEventLatency.record(nanos);
+        if (slot >= 0 && slot < MAX_SLOTS) {
+            slotClicks.incrementAndGet(slot);
+        }
+    }
+
+    /**
+     * Records an {@link com.dsh105.menuapi.api.IconCallback} being run
+     *
+     * @param nanos Time taken to run the callback on the calling thread, in nanoseconds
+     */
+    public void recordCallback(long nanos) {
+        callbackLatency.record(nanos);
+    }
+
+    /**
+     * Records a click rejected by a {@link com.dsh105.menuapi.util.ClickLimiter}
+     */
+    public void recordRejectedClick() {
+        rejectedClicks.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of times Menus have been shown
+     *
+     * @return Number of opens
+     */
+    public long getOpens() {
+        return opens.get();
+    }
+
+    /**
+     * Gets the number of clicks that called an {@link com.dsh105.menuapi.api.event.IconClickEvent}
+     *
+     * @return Number of clicks
+     */
+    public long getClicks() {
+        return clicks.get();
+    }
+
+    /**
+     * Gets the number of clicks rejected by a {@link com.dsh105.menuapi.util.ClickLimiter}
+     *
+     * @return Number of rejected clicks
+     */
+    public long getRejectedClicks() {
+        return rejectedClicks.get();
+    }
+
+    /**
+     * Gets the number of clicks on a certain slot
+     *
+     * @param slot Slot number
+     * @return Number of clicks, or 0 if the slot is not tracked
+     */
+    public long getSlotClicks(int slot) {
+        return slot >= 0 && slot < MAX_SLOTS ? slotClicks.get(slot) : 0;
+    }
+
+    /**
+     * Gets the number of times an Icon in a certain slot has been rendered
+     *
+     * @param slot Slot number
+     * @return Number of renders, or 0 if the slot is not tracked
+     */
+    public long getSlotRenders(int slot) {
+        return slot >= 0 && slot < MAX_SLOTS ? slotRenders.get(slot) : 0;
+    }
+
+    /**
+     * Gets the total time spent rendering Icons in a certain slot
+     *
+     * @param slot Slot number
+     * @return Total render time in nanoseconds, or 0 if the slot is not tracked
+     */
+    public long getSlotRenderNanos(int slot) {
+        return slot >= 0 && slot < MAX_SLOTS ? slotRenderNanos.get(slot) : 0;
+    }
+
+    /**
+     * Gets a snapshot of the time taken to show Menus
+     *
+     * @return Latency snapshot
+     */
+    public LatencyHistogram.Snapshot getShowLatency() {
+        return showLatency.snapshot();
+    }
+
+    /**
+     * Gets a snapshot of the time taken to render individual Icons
+     *
+     * @return Latency snapshot
+     */
+    public LatencyHistogram.Snapshot getRenderLatency() {
+        return renderLatency.snapshot();
+    }
+
+    /**
+     * Gets a snapshot of the time taken to call {@link com.dsh105.menuapi.api.event.IconClickEvent}s
+     *
+     * @return Latency snapshot
+     */
+    public LatencyHistogram.Snapshot getClickEventLatency() {
+        return clickEventLatency.snapshot();
+    }
+
+    /**
+     * Gets a snapshot of the time taken to run Icon callbacks
+     *
+     * @return Latency snapshot
+     */
+    public LatencyHistogram.Snapshot getCallbackLatency() {
+        return callbackLatency.snapshot();
+    }
+
+    /**
+     * Clears all recorded statistics
+     */
+    public void reset() {
+        opens.set(0);
+        clicks.set(0);
+        rejectedClicks.set(0);
+        showLatency.reset();
+        renderLatency.reset();
+        clickEventLatency.reset();
+        callbackLatency.reset();
+        for (int i = 0; i < MAX_SLOTS; i++) {
+            slotClicks.set(i, 0);
+            slotRenders.set(i, 0);
+            slotRenderNanos.set(i, 0);
+        }
+    }
+}
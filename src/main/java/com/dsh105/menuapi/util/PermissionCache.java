@@ -0,0 +1,96 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the result of permission checks per player and permission node for a limited time
+ * <p/>
+ * Players are weakly referenced, so entries for players that have logged out are dropped automatically. A cache is
+ * intended to be used from the main server thread only
+ */
+public class PermissionCache {
+
+    private final long ttl;
+    private final Map<Player, Map<String, Result>> results = new WeakHashMap<>();
+
+    /**
+     * Constructs a new PermissionCache
+     *
+     * @param duration Time for which a permission check result is reused
+     * @param unit     Unit of the given duration
+     */
+    public PermissionCache(long duration, TimeUnit unit) {
+        this.ttl = unit.toNanos(duration);
+    }
+
+    /**
+     * Checks whether a player has a permission, reusing a previous result if it has not yet expired
+     *
+     * @param player     Player to check
+     * @param permission Permission node to check
+     * @return True if the player has the permission
+     */
+    public boolean hasPermission(Player player, String permission) {
+        Map<String, Result> playerResults = results.get(player);
+        if (playerResults == null) {
+            playerResults = new HashMap<>();
+            results.put(player, playerResults);
+        }
+
+        long now = System.nanoTime();
+        Result result = playerResults.get(permission);
+        if (result == null) {
+            result = new Result();
+            playerResults.put(permission, result);
+        } else if (now - result.checked < ttl) {
+            return result.permitted;
+        }
+        result.permitted = player.hasPermission(permission);
+        result.checked = now;
+        return result.permitted;
+    }
+
+    /**
+     * Discards all cached results for a player
+     *
+     * @param player Player to discard results for
+     */
+    public void invalidate(Player player) {
+        results.remove(player);
+    }
+
+    /**
+     * Discards all cached results
+     */
+    public void clear() {
+        results.clear();
+    }
+
+    private static class Result {
+
+        private boolean permitted;
+        private long checked;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+public class LayoutCodecTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Layout layout;
+
+    @Before
+    public void setUp() {
+        StubServer.get();
+        HashMap<Integer, Icon> slots = new HashMap<>();
+        slots.put(0, new Icon(Material.STONE, "Stone", "First", "Second"));
+        slots.put(8, new CommandIcon("menuapi.test", "say hi", Material.DIAMOND, "Diamond", "Lore"));
+        layout = new Layout(slots, 9, "Codec");
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        Layout decoded = LayoutCodec.decode(ByteBuffer.wrap(LayoutCodec.encode(layout)));
+        assertEquals("Codec", decoded.getTitle());
+        assertEquals(9, decoded.getSize());
+        assertEquals("say hi", ((CommandIcon) decoded.getSlot(8)).getCommand());
+        assertEquals(Arrays.asList("First", "Second"), Arrays.asList(decoded.getSlot(0).getLore()));
+    }
+
+    @Test
+    public void truncatedDataIsRejectedWithIOException() throws IOException {
+        byte[] encoded = LayoutCodec.encode(layout);
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            // Keep the header's length consistent with the truncated data so the body itself is decoded
+            if (length >= LayoutCodec.HEADER_LENGTH) {
+                ByteBuffer.wrap(truncated, 5, 4).putInt(length - LayoutCodec.HEADER_LENGTH);
+            }
+            try {
+                LayoutCodec.decode(ByteBuffer.wrap(truncated));
+                fail("Decoded a layout truncated to " + length + " bytes");
+            } catch (IOException expected) {
+                // Rejected as expected
+            }
+        }
+    }
+
+    @Test
+    public void corruptDataOnlyThrowsIOException() throws IOException {
+        byte[] encoded = LayoutCodec.encode(layout);
+        Random random = new Random(105);
+        for (int i = 0; i < 20000; i++) {
+            byte[] corrupt = encoded.clone();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                int index = LayoutCodec.HEADER_LENGTH + random.nextInt(corrupt.length - LayoutCodec.HEADER_LENGTH);
+                corrupt[index] = (byte) random.nextInt(256);
+            }
+            try {
+                LayoutCodec.decode(ByteBuffer.wrap(corrupt));
+            } catch (IOException expected) {
+                // Rejected as expected
+            }
+        }
+    }
+
+    @Test
+    public void cacheIsKeyedBySection() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        layout.saveToFile(config, "first");
+        new Layout(new HashMap<Integer, Icon>(), 18, "Second").saveToFile(config, "second");
+        File yaml = folder.newFile("layouts.yml");
+        config.save(yaml);
+        File cache = new File(folder.getRoot(), "layouts.cache");
+
+        assertEquals("Codec", LayoutCodec.loadCached(yaml, "first", cache).getTitle());
+        assertEquals("Second", LayoutCodec.loadCached(yaml, "second", cache).getTitle());
+        assertEquals("Codec", LayoutCodec.loadCached(yaml, "first", cache).getTitle());
+    }
+
+    @Test
+    public void corruptCacheFallsBackToYaml() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        layout.saveToFile(config, "menu");
+        File yaml = folder.newFile("menu.yml");
+        config.save(yaml);
+        File cache = new File(folder.getRoot(), "menu.cache");
+        assertNotNull(LayoutCodec.loadCached(yaml, "menu", cache));
+
+        byte[] cached = Files.readAllBytes(cache.toPath());
+        Files.write(cache.toPath(), Arrays.copyOf(cached, cached.length / 2));
+        cache.setLastModified(yaml.lastModified() + 1000);
+        assertEquals("Codec", LayoutCodec.loadCached(yaml, "menu", cache).getTitle());
+    }
+
+    @Test
+    public void unencodableLayoutsAreRejected() throws IOException {
+        try {
+            LayoutCodec.encode(new Layout(new HashMap<Integer, Icon>(), 63, "Too large"));
+            fail("Encoded a layout larger than 54 slots");
+        } catch (IllegalArgumentException expected) {
+            // Rejected as expected
+        }
+
+        HashMap<Integer, Icon> slots = new HashMap<>();
+        slots.put(0, new Icon(null, "No material"));
+        try {
+            LayoutCodec.encode(new Layout(slots, 9, "No material"));
+            fail("Encoded an Icon without a material");
+        } catch (IllegalArgumentException expected) {
+            // Rejected as expected
+        }
+    }
+
+    @Test
+    public void cacheWrittenInTheSameSecondIsNotTrusted() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        layout.saveToFile(config, "menu");
+        File yaml = folder.newFile("same.yml");
+        config.save(yaml);
+        File cache = new File(folder.getRoot(), "same.cache");
+        assertEquals("Codec", LayoutCodec.loadCached(yaml, "menu", cache).getTitle());
+
+        new Layout(new HashMap<Integer, Icon>(), 9, "Edited").saveToFile(config, "menu");
+        config.save(yaml);
+        long modified = cache.lastModified() / 1000 * 1000;
+        cache.setLastModified(modified);
+        yaml.setLastModified(modified);
+        assertEquals("Edited", LayoutCodec.loadCached(yaml, "menu", cache).getTitle());
+    }
+}
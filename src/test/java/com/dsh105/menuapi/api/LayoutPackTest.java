@@ -0,0 +1,108 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LayoutPackTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        StubServer.get();
+        Map<String, Layout> layouts = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            HashMap<Integer, Icon> slots = new HashMap<>();
+            slots.put(i, new Icon(Material.STONE, "Icon " + i));
+            layouts.put("layout-" + i, new Layout(slots, 9, "Layout " + i));
+        }
+        file = folder.newFile("layouts.pack");
+        LayoutPack.write(layouts, file);
+    }
+
+    @Test
+    public void loadsLayouts() throws IOException {
+        LayoutPack pack = LayoutPack.open(file, 2);
+        assertEquals(3, pack.getNames().size());
+        assertEquals("Layout 1", pack.getLayout("layout-1").getTitle());
+    }
+
+    @Test
+    public void rejectsCorruptIndexWithIOException() throws IOException {
+        byte[] pack = Files.readAllBytes(file.toPath());
+        int[] values = {-1, Integer.MAX_VALUE, Integer.MIN_VALUE, pack.length, pack.length + 1};
+        // Layout count, then the name length, offset and length of the first entry
+        int nameLength = "layout-0".length();
+        int[] positions = {5, 9, 13 + nameLength, 17 + nameLength};
+        for (int position : positions) {
+            for (int value : values) {
+                byte[] corrupt = pack.clone();
+                ByteBuffer.wrap(corrupt, position, 4).putInt(value);
+                File corruptFile = folder.newFile();
+                Files.write(corruptFile.toPath(), corrupt);
+                try {
+                    LayoutPack.open(corruptFile, 2).getLayout("layout-0");
+                } catch (IOException expected) {
+                    continue;
+                }
+                // Some values only move the entry within the file, which must still decode or be rejected cleanly
+                if (value < 0) {
+                    fail("Accepted " + value + " at " + position);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void closeReleasesPack() throws IOException {
+        LayoutPack pack = LayoutPack.open(file, 2);
+        pack.getLayout("layout-0");
+        assertEquals(1, pack.getCachedCount());
+
+        pack.close();
+        assertTrue(pack.isClosed());
+        assertEquals(0, pack.getCachedCount());
+        try {
+            pack.getLayout("layout-0");
+            fail("Loaded a layout from a closed pack");
+        } catch (IOException expected) {
+            // Closed as expected
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MenuDispatcherTest {
+
+    @Test
+    public void listenerMovesToAnotherOwnerWhenPluginIsDisabled() {
+        StubServer server = StubServer.get();
+        Plugin first = server.createPlugin("First");
+        Plugin second = server.createPlugin("Second");
+        Menu firstMenu = new Menu(first, "First", 9, new ItemStack(Material.COMPASS), new HashMap<Integer, Icon>());
+        Menu secondMenu = new Menu(second, "Second", 9, new ItemStack(Material.WATCH), new HashMap<Integer, Icon>());
+
+        MenuDispatcher dispatcher = new MenuDispatcher();
+        dispatcher.register(first, firstMenu);
+        dispatcher.register(second, secondMenu);
+        assertSame(first, dispatcher.getListeningPlugin());
+
+        dispatcher.onPluginDisable(new PluginDisableEvent(first));
+        assertSame(second, dispatcher.getListeningPlugin());
+        assertTrue(firstMenu.isDisposed());
+        assertEquals(null, dispatcher.getMenu(firstMenu.getId()));
+        assertSame(secondMenu, dispatcher.getMenu(secondMenu.getId()));
+        assertEquals(1, dispatcher.getRegisteredCount());
+
+        dispatcher.onPluginDisable(new PluginDisableEvent(second));
+        assertEquals(null, dispatcher.getListeningPlugin());
+        assertEquals(0, dispatcher.getRegisteredCount());
+    }
+}
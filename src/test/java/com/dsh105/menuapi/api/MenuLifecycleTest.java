@@ -0,0 +1,181 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.MenuAPI;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import com.dsh105.menuapi.util.ClickLimiter;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MenuLifecycleTest {
+
+    private StubServer server;
+
+    @Before
+    public void setUp() {
+        server = StubServer.get();
+    }
+
+    @Test
+    public void showingAgainToOnlyViewerDoesNotAutoDispose() {
+        final Menu menu = new Menu(server.getPlugin(), "Reopen", 9);
+        menu.setAutoDispose(true);
+        final int[] clicks = new int[1];
+        Icon icon = new Icon(Material.STONE, "Reopen");
+        icon.setClose(false);
+        icon.setCallback(new IconCallback() {
+            @Override
+            public void run(Player viewer) {
+                clicks[0]++;
+                menu.show(viewer);
+            }
+        });
+        menu.setSlot(0, icon);
+
+        Player player = StubPlayer.create("Reopener");
+        menu.show(player);
+        click(player, 0);
+
+        assertFalse(menu.isDisposed());
+        assertNotNull(menu.getView(player));
+        assertSame(menu, MenuAPI.getDispatcher().getMenu(menu.getId()));
+        assertSame(menu, player.getOpenInventory().getTopInventory().getHolder());
+
+        click(player, 0);
+        assertEquals(2, clicks[0]);
+
+        player.closeInventory();
+        assertTrue(menu.isDisposed());
+    }
+
+    @Test
+    public void autoDisposesWhenLastViewerCloses() {
+        Menu menu = new Menu(server.getPlugin(), "Close", 9);
+        menu.setAutoDispose(true);
+        Player first = StubPlayer.create("First");
+        Player second = StubPlayer.create("Second");
+        menu.show(first);
+        menu.show(second);
+
+        first.closeInventory();
+        assertFalse(menu.isDisposed());
+        second.closeInventory();
+        assertTrue(menu.isDisposed());
+        assertEquals(null, MenuAPI.getDispatcher().getMenu(menu.getId()));
+    }
+
+    @Test
+    public void droppedMenusAreReleased() throws InterruptedException {
+        MenuDispatcher dispatcher = MenuAPI.getDispatcher();
+        int before = dispatcher.getRegisteredCount();
+        for (int i = 0; i < 100000; i++) {
+            new Menu(server.getPlugin(), "Dropped " + i, 9).setSlot(0, new Icon(Material.STONE, "Icon"));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (dispatcher.getRegisteredCount() > before && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(dispatcher.getRegisteredCount() <= before);
+    }
+
+    @Test
+    public void menusWithClickItemAreKeptUntilDisposed() throws InterruptedException {
+        ItemStack compass = new ItemStack(Material.COMPASS);
+        long id = new Menu(server.getPlugin(), "Compass", 9, compass, new HashMap<Integer, Icon>()).getId();
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Menu menu = MenuAPI.getDispatcher().getMenu(id);
+        assertNotNull(menu);
+
+        Player player = StubPlayer.create("Navigator");
+        MenuAPI.getDispatcher().onPlayerInteract(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, compass, null, BlockFace.SELF));
+        assertSame(menu, player.getOpenInventory().getTopInventory().getHolder());
+
+        player.closeInventory();
+        menu.dispose();
+        assertEquals(null, MenuAPI.getDispatcher().getMenu(id));
+    }
+
+    @Test
+    public void clicksRejectedByIconDoNotUseUpMenuLimiter() {
+        Menu menu = new Menu(server.getPlugin(), "Limited", 9);
+        ClickLimiter menuLimiter = new ClickLimiter(2, 0.001);
+        ClickLimiter iconLimiter = new ClickLimiter(1, 0.001);
+        menu.setClickLimiter(menuLimiter);
+        final int[] clicks = new int[2];
+        for (int i = 0; i < clicks.length; i++) {
+            final int index = i;
+            Icon icon = new Icon(Material.STONE, "Limited " + i);
+            icon.setClose(false);
+            icon.setCallback(new IconCallback() {
+                @Override
+                public void run(Player viewer) {
+                    clicks[index]++;
+                }
+            });
+            if (i == 0) {
+                icon.setClickLimiter(iconLimiter);
+            }
+            menu.setSlot(i, icon);
+        }
+
+        Player player = StubPlayer.create("Limited");
+        menu.show(player);
+        click(player, 0);
+        click(player, 0);
+        click(player, 1);
+
+        assertEquals(1, clicks[0]);
+        assertEquals(1, clicks[1]);
+        assertEquals(2, menuLimiter.getAccepted());
+        assertEquals(0, menuLimiter.getRejected());
+        assertEquals(1, iconLimiter.getAccepted());
+        assertEquals(1, iconLimiter.getRateLimited());
+        menu.dispose();
+    }
+
+    private static void click(Player player, int slot) {
+        MenuAPI.getDispatcher().onInventoryClick(new InventoryClickEvent(player.getOpenInventory(), InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PaginatedMenuTest {
+
+    private PaginatedMenu menu;
+
+    @Before
+    public void setUp() {
+        List<Icon> icons = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            icons.add(new Icon(Material.STONE, "Entry " + i));
+        }
+        menu = new PaginatedMenu(StubServer.get().getPlugin(), "Pages", 27, PageSource.of(icons));
+    }
+
+    @Test
+    public void rejectsReservedSlots() {
+        for (int slot : new int[]{0, 17, 18, 26}) {
+            try {
+                menu.setSlot(slot, new Icon(Material.DIRT, "Hidden"));
+                fail("Slot " + slot + " should be reserved");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals(null, menu.getSlot(0));
+    }
+
+    @Test
+    public void showsIconsInFreeNavigationSlots() {
+        Icon info = new Icon(Material.BOOK, "Info");
+        menu.setSlot(22, info);
+
+        Player player = StubPlayer.create("Pager");
+        menu.show(player);
+        assertSame(info, menu.getSlot(22));
+        assertEquals(Material.BOOK, player.getOpenInventory().getTopInventory().getItem(22).getType());
+        assertEquals("Entry 0", player.getOpenInventory().getTopInventory().getItem(0).getItemMeta().getDisplayName());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScrollMenuTest {
+
+    private static final int ENTRIES = 18 * 64;
+
+    private StubServer server;
+    private final List<SettableFuture<List<Icon>>> pending = new ArrayList<>();
+    private final List<Integer> offsets = new ArrayList<>();
+    private int loads;
+
+    @Before
+    public void setUp() {
+        server = StubServer.get();
+        server.runTasks();
+    }
+
+    @Test
+    public void viewersSpreadOverManyChunksSettle() {
+        ScrollMenu menu = new ScrollMenu(server.getPlugin(), "Scroll", 18, new ScrollSource() {
+            @Override
+            public int size() {
+                return ENTRIES;
+            }
+
+            @Override
+            public ListenableFuture<List<Icon>> load(int offset, int count) {
+                loads++;
+                SettableFuture<List<Icon>> future = SettableFuture.create();
+                pending.add(future);
+                offsets.add(offset);
+                return future;
+            }
+        });
+
+        // Each player views a different chunk, so together they need more chunks than are cached
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            Player player = StubPlayer.create("Scroller" + i);
+            menu.show(player);
+            assertEquals(i * 4, menu.scroll(player, i * 4));
+            players.add(player);
+        }
+
+        int rounds = 0;
+        while (!pending.isEmpty() || server.runTasks() > 0) {
+            completeLoads();
+            assertTrue("Chunk loads did not settle", ++rounds < 100);
+        }
+        assertTrue("Too many chunk loads: " + loads, loads <= 64);
+
+        for (int i = 0; i < players.size(); i++) {
+            ItemStack item = players.get(i).getOpenInventory().getTopInventory().getItem(0);
+            assertEquals("Entry " + (i * 36), item.getItemMeta().getDisplayName());
+        }
+
+        int before = loads;
+        menu.refresh();
+        server.runTasks();
+        assertEquals(before, loads);
+    }
+
+    @Test
+    public void chunksSuppliedImmediatelyDoNotScheduleRenders() {
+        ScrollMenu menu = new ScrollMenu(server.getPlugin(), "Scroll", 18, new ScrollSource() {
+            @Override
+            public int size() {
+                return ENTRIES;
+            }
+
+            @Override
+            public ListenableFuture<List<Icon>> load(int offset, int count) {
+                loads++;
+                List<Icon> icons = new ArrayList<>();
+                for (int i = offset; i < offset + count; i++) {
+                    icons.add(new Icon(Material.STONE, "Entry " + i));
+                }
+                return Futures.immediateFuture(icons);
+            }
+        });
+
+        Player first = StubPlayer.create("Immediate1");
+        Player second = StubPlayer.create("Immediate2");
+        menu.show(first);
+        menu.show(second);
+        assertEquals(8, menu.scroll(second, 8));
+        assertEquals(0, server.runTasks());
+        assertEquals("Entry 72", second.getOpenInventory().getTopInventory().getItem(0).getItemMeta().getDisplayName());
+        assertEquals(5, loads);
+    }
+
+    @Test
+    public void failedChunksAreRetriedAfterADelay() {
+        ScrollMenu menu = new ScrollMenu(server.getPlugin(), "Scroll", 18, new ScrollSource() {
+            @Override
+            public int size() {
+                return ENTRIES;
+            }
+
+            @Override
+            public ListenableFuture<List<Icon>> load(int offset, int count) {
+                loads++;
+                return Futures.immediateFailedFuture(new IllegalStateException("Source unavailable"));
+            }
+        });
+
+        Player player = StubPlayer.create("Failing");
+        menu.show(player);
+        assertEquals(1, loads);
+        for (int i = 0; i < 10; i++) {
+            menu.refresh();
+            server.runTasks();
+        }
+        assertEquals(1, loads);
+        assertEquals(menu.getPlaceholder().getIcon(player), player.getOpenInventory().getTopInventory().getItem(0));
+
+        server.runDelayedTasks();
+        assertEquals(2, loads);
+    }
+
+    private void completeLoads() {
+        List<SettableFuture<List<Icon>>> futures = new ArrayList<>(pending);
+        List<Integer> starts = new ArrayList<>(offsets);
+        pending.clear();
+        offsets.clear();
+        for (int i = 0; i < futures.size(); i++) {
+            List<Icon> icons = new ArrayList<>();
+            for (int j = starts.get(i); j < Math.min(starts.get(i) + 18, ENTRIES); j++) {
+                icons.add(new Icon(Material.STONE, "Entry " + j));
+            }
+            futures.get(i).set(icons);
+        }
+    }
+}
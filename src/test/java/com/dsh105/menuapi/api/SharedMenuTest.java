@@ -0,0 +1,113 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.api;
+
+import com.dsh105.menuapi.MenuAPI;
+import com.dsh105.menuapi.stub.StubPlayer;
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class SharedMenuTest {
+
+    private MenuDefinition definition;
+
+    @Before
+    public void setUp() {
+        Map<Integer, Icon> slots = new HashMap<>();
+        slots.put(0, new Icon(Material.STONE, "Stone"));
+        slots.put(4, new Icon(Material.DIRT, "Dirt"));
+        definition = new MenuDefinition("Shared", 10, slots);
+    }
+
+    @Test
+    public void definitionSizeAndSlotsAreValidated() {
+        assertEquals(18, definition.getSize());
+        Map<Integer, Icon> outside = new HashMap<>();
+        outside.put(9, new Icon(Material.STONE, "Outside"));
+        try {
+            new MenuDefinition("Invalid", 9, outside);
+            fail("Slot 9 should not exist");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void slotsMatchDefinition() {
+        SharedMenu menu = definition.toMenu(StubServer.get().getPlugin());
+        assertSame(definition, menu.getDefinition());
+        assertSame(definition.getSlot(4), menu.getSlot(4));
+        assertEquals(definition.getSlots(), menu.getSlots());
+        menu.dispose();
+    }
+
+    @Test
+    public void sessionsOverrideSlotsPerViewer() {
+        MenuDispatcher dispatcher = MenuAPI.getDispatcher();
+        int before = dispatcher.getRegisteredCount();
+        SharedMenu menu = definition.toMenu(StubServer.get().getPlugin());
+        Player first = StubPlayer.create("SharedFirst");
+        Player second = StubPlayer.create("SharedSecond");
+        menu.show(first);
+        menu.show(second);
+        assertEquals(before + 1, dispatcher.getRegisteredCount());
+
+        menu.getSession(first).setIcon(0, new Icon(Material.GOLD_BLOCK, "Gold"));
+        assertEquals(Material.GOLD_BLOCK, first.getOpenInventory().getTopInventory().getItem(0).getType());
+        assertEquals(Material.STONE, second.getOpenInventory().getTopInventory().getItem(0).getType());
+        assertEquals(Material.DIRT, first.getOpenInventory().getTopInventory().getItem(4).getType());
+
+        menu.endSession(first);
+        assertEquals(Material.STONE, first.getOpenInventory().getTopInventory().getItem(0).getType());
+        menu.dispose();
+    }
+
+    @Test
+    public void changesThroughMenuReplaceDefinition() {
+        SharedMenu menu = definition.toMenu(StubServer.get().getPlugin());
+        Icon icon = new Icon(Material.STONE, "Stone");
+        menu.setSlot(1, icon);
+        menu.setTitle("Changed");
+        menu.setClickItem(new ItemStack(Material.COMPASS));
+        menu.setSize(27);
+
+        MenuDefinition changed = menu.getDefinition();
+        assertNotSame(definition, changed);
+        assertSame(icon, changed.getSlot(1));
+        assertSame(definition.getSlot(4), changed.getSlot(4));
+        assertEquals("Changed", changed.getTitle());
+        assertEquals(Material.COMPASS, changed.getClickItem().getType());
+        assertEquals(27, changed.getSize());
+
+        assertEquals(null, definition.getSlot(1));
+        assertEquals("Shared", definition.getTitle());
+        assertEquals(null, definition.getClickItem());
+        assertEquals(18, definition.getSize());
+        menu.dispose();
+    }
+}
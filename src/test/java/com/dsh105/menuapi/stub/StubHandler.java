@@ -0,0 +1,112 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.stub;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base for the dynamic proxies standing in for Bukkit interfaces
+ * <p/>
+ * Methods a stub does not handle return an empty value for their return type, so only the methods used by MenuAPI
+ * need to be implemented
+ */
+abstract class StubHandler implements InvocationHandler {
+
+    /**
+     * Returned by {@link #handle(Object, String, Object[])} for methods the stub does not implement
+     */
+    protected static final Object UNHANDLED = new Object();
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Creates a proxy of the given interface backed by a stub
+     *
+     * @param type    Interface to implement
+     * @param handler Stub handling calls to the proxy
+     * @return Proxy instance
+     */
+    static <T> T create(Class<T> type, StubHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubHandler.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Handles a call to the proxy
+     *
+     * @param proxy Proxy instance
+     * @param name  Name of the called method
+     * @param args  Arguments of the call, never null
+     * @return Result of the call, or {@link #UNHANDLED} to use the default result
+     * @throws Throwable if the call fails
+     */
+    protected abstract Object handle(Object proxy, String name, Object[] args) throws Throwable;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object[] arguments = args == null ? NO_ARGS : args;
+        Object result = this.handle(proxy, method.getName(), arguments);
+        if (result != UNHANDLED) {
+            return result;
+        }
+
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return this.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type == float.class) {
+            return 0F;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        } else if (type == List.class) {
+            return Collections.emptyList();
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == Map.class) {
+            return Collections.emptyMap();
+        }
+        return null;
+    }
+}
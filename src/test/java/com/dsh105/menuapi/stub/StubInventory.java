@@ -0,0 +1,104 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.stub;
+
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * An {@link org.bukkit.inventory.Inventory} backed by a plain array of items
+ */
+final class StubInventory extends StubHandler {
+
+    private final InventoryHolder holder;
+    private final InventoryType type;
+    private final String title;
+    private final ItemStack[] items;
+
+    private StubInventory(InventoryHolder holder, InventoryType type, int size, String title) {
+        this.holder = holder;
+        this.type = type;
+        this.title = title;
+        this.items = new ItemStack[size];
+    }
+
+    /**
+     * Creates a stub inventory
+     *
+     * @param inventoryType Inventory interface to implement
+     * @param holder        Holder of the inventory
+     * @param type          Type of the inventory
+     * @param size          Number of slots
+     * @param title         Title of the inventory
+     * @return Stub inventory
+     */
+    static <T extends Inventory> T create(Class<T> inventoryType, InventoryHolder holder, InventoryType type, int size, String title) {
+        return create(inventoryType, new StubInventory(holder, type, size, title));
+    }
+
+    @Override
+    protected Object handle(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "getSize":
+                return items.length;
+            case "getMaxStackSize":
+                return 64;
+            case "getName":
+            case "getTitle":
+                return title;
+            case "getType":
+                return type;
+            case "getHolder":
+                return holder;
+            case "getItem":
+                return items[(Integer) args[0]];
+            case "setItem":
+                items[(Integer) args[0]] = (ItemStack) args[1];
+                return null;
+            case "getContents":
+                return items.clone();
+            case "setContents":
+                ItemStack[] contents = (ItemStack[]) args[0];
+                if (contents.length > items.length) {
+                    throw new IllegalArgumentException("Invalid inventory size; expected " + items.length + " or less");
+                }
+                System.arraycopy(contents, 0, items, 0, contents.length);
+                Arrays.fill(items, contents.length, items.length, null);
+                return null;
+            case "clear":
+                if (args.length == 0) {
+                    Arrays.fill(items, null);
+                    return null;
+                }
+                return UNHANDLED;
+            case "firstEmpty":
+                for (int i = 0; i < items.length; i++) {
+                    if (items[i] == null) {
+                        return i;
+                    }
+                }
+                return -1;
+            default:
+                return UNHANDLED;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.stub;
+
+import com.dsh105.menuapi.MenuAPI;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.UUID;
+
+/**
+ * A {@link org.bukkit.entity.Player} that can open and close inventories without a client
+ * <p/>
+ * Closing an inventory routes an {@link org.bukkit.event.inventory.InventoryCloseEvent} to the
+ * {@link com.dsh105.menuapi.api.MenuDispatcher}, as the server would
+ */
+public final class StubPlayer extends StubHandler {
+
+    private final String name;
+    private final UUID uniqueId = UUID.randomUUID();
+    private final boolean permitted;
+
+    private Player player;
+    private PlayerInventory inventory;
+    private InventoryView craftingView;
+    private InventoryView openView;
+
+    private StubPlayer(String name, boolean permitted) {
+        this.name = name;
+        this.permitted = permitted;
+    }
+
+    /**
+     * Creates a stub player that has every permission
+     *
+     * @param name Name of the player
+     * @return Stub player
+     */
+    public static Player create(String name) {
+        return create(name, true);
+    }
+
+    /**
+     * Creates a stub player
+     *
+     * @param name      Name of the player
+     * @param permitted True if the player has every permission, false if the player has none
+     * @return Stub player
+     */
+    public static Player create(String name, boolean permitted) {
+        StubPlayer handler = new StubPlayer(name, permitted);
+        handler.player = create(Player.class, handler);
+        handler.inventory = StubInventory.create(PlayerInventory.class, handler.player, InventoryType.PLAYER, 36, InventoryType.PLAYER.getDefaultTitle());
+        Inventory crafting = StubInventory.create(Inventory.class, handler.player, InventoryType.CRAFTING, 5, InventoryType.CRAFTING.getDefaultTitle());
+        handler.craftingView = new StubInventoryView(handler.player, crafting, handler.inventory);
+        handler.openView = handler.craftingView;
+        return handler.player;
+    }
+
+    @Override
+    protected Object handle(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "getName":
+            case "getDisplayName":
+            case "getPlayerListName":
+                return this.name;
+            case "getUniqueId":
+                return uniqueId;
+            case "hasPermission":
+                return permitted;
+            case "isOnline":
+            case "isValid":
+                return true;
+            case "getInventory":
+                return inventory;
+            case "getOpenInventory":
+                return openView;
+            case "openInventory":
+                if (args[0] instanceof Inventory) {
+                    this.close();
+                    openView = new StubInventoryView(player, (Inventory) args[0], inventory);
+                    return openView;
+                }
+                return UNHANDLED;
+            case "closeInventory":
+                this.close();
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private void close() {
+        if (openView != craftingView) {
+            MenuAPI.getDispatcher().onInventoryClose(new InventoryCloseEvent(openView));
+            openView = craftingView;
+        }
+    }
+
+    private static class StubInventoryView extends InventoryView {
+
+        private final Player player;
+        private final Inventory top;
+        private final Inventory bottom;
+
+        StubInventoryView(Player player, Inventory top, Inventory bottom) {
+            this.player = player;
+            this.top = top;
+            this.bottom = bottom;
+        }
+
+        @Override
+        public Inventory getTopInventory() {
+            return top;
+        }
+
+        @Override
+        public Inventory getBottomInventory() {
+            return bottom;
+        }
+
+        @Override
+        public HumanEntity getPlayer() {
+            return player;
+        }
+
+        @Override
+        public InventoryType getType() {
+            return top.getType();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.stub;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.event.Event;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A Bukkit {@link org.bukkit.Server} that runs without Minecraft, for testing and benchmarking MenuAPI offline
+ * <p/>
+ * Inventories, players and item meta are stubbed (see {@link com.dsh105.menuapi.stub.StubInventory} and
+ * {@link com.dsh105.menuapi.stub.StubPlayer}). Tasks passed to the scheduler are queued until
+ * {@link #runTasks()} is called, tasks scheduled with a delay are queued until {@link #runDelayedTasks()} is called,
+ * and every thread is treated as the main server thread
+ */
+public final class StubServer {
+
+    private static StubServer instance;
+
+    private final Logger logger = Logger.getLogger("MenuAPI-Stub");
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> delayedTasks = new ConcurrentLinkedQueue<>();
+    private final Server server;
+    private final Plugin plugin;
+
+    private StubServer() {
+        this.logger.setLevel(Level.WARNING);
+        this.server = StubHandler.create(Server.class, new ServerHandler());
+        this.plugin = createPlugin("MenuAPI-Benchmarks");
+    }
+
+    /**
+     * Gets the stub server, installing it as the Bukkit server on first use
+     *
+     * @return Stub server instance
+     */
+    public static synchronized StubServer get() {
+        if (instance == null) {
+            instance = new StubServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the Bukkit server implemented by the stub
+     *
+     * @return Server instance
+     */
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * Gets a plugin to create Menus for
+     *
+     * @return Plugin instance
+     */
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Creates another enabled plugin, for tests involving Menus owned by several plugins
+     *
+     * @param name Name of the plugin
+     * @return Plugin instance
+     */
+    public Plugin createPlugin(String name) {
+        return StubHandler.create(Plugin.class, new PluginHandler(name));
+    }
+
+    /**
+     * Runs every task queued with the scheduler
+     *
+     * @return Number of tasks run
+     */
+    public int runTasks() {
+        int count = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Runs every task scheduled with a delay as if the delay has passed, along with the tasks they queue with the
+     * scheduler
+     * <p/>
+     * Tasks scheduled with a delay while this runs are left queued
+     *
+     * @return Number of tasks run
+     */
+    public int runDelayedTasks() {
+        Runnable task;
+        while ((task = delayedTasks.poll()) != null) {
+            tasks.add(task);
+        }
+        return runTasks();
+    }
+
+    private class ServerHandler extends StubHandler {
+
+        private final PluginManager pluginManager = create(PluginManager.class, new PluginManagerHandler());
+        private final BukkitScheduler scheduler = create(BukkitScheduler.class, new SchedulerHandler());
+        private final ItemFactory itemFactory = create(ItemFactory.class, new ItemFactoryHandler());
+
+        @Override
+        protected Object handle(Object proxy, String name, Object[] args) {
+            switch (name) {
+                case "getName":
+                    return "MenuAPI-Stub";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "1.7.10-R0.1-SNAPSHOT";
+                case "getLogger":
+                    return logger;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler;
+                case "getItemFactory":
+                    return itemFactory;
+                case "isPrimaryThread":
+                    return true;
+                case "createInventory":
+                    InventoryHolder holder = (InventoryHolder) args[0];
+                    if (args[1] instanceof InventoryType) {
+                        InventoryType type = (InventoryType) args[1];
+                        return StubInventory.create(Inventory.class, holder, type, type.getDefaultSize(), type.getDefaultTitle());
+                    }
+                    String title = args.length > 2 ? (String) args[2] : InventoryType.CHEST.getDefaultTitle();
+                    return StubInventory.create(Inventory.class, holder, InventoryType.CHEST, (Integer) args[1], title);
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    private class PluginHandler extends StubHandler {
+
+        private final String pluginName;
+
+        PluginHandler(String pluginName) {
+            this.pluginName = pluginName;
+        }
+
+        @Override
+        protected Object handle(Object proxy, String name, Object[] args) {
+            switch (name) {
+                case "getName":
+                    return pluginName;
+                case "isEnabled":
+                    return true;
+                case "getServer":
+                    return server;
+                case "getLogger":
+                    return logger;
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    private static class PluginManagerHandler extends StubHandler {
+
+        @Override
+        protected Object handle(Object proxy, String name, Object[] args) throws Throwable {
+            switch (name) {
+                case "callEvent":
+                    // Listeners are not registered, but the handler list is still walked as it would be by Bukkit
+                    Event event = (Event) args[0];
+                    for (RegisteredListener listener : event.getHandlers().getRegisteredListeners()) {
+                        listener.callEvent(event);
+                    }
+                    return null;
+                case "isPluginEnabled":
+                    return true;
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    private class SchedulerHandler extends StubHandler {
+
+        @Override
+        protected Object handle(Object proxy, String name, Object[] args) {
+            if (name.equals("runTask") || name.equals("scheduleSyncDelayedTask")) {
+                tasks.add((Runnable) args[1]);
+                return name.equals("runTask") ? null : 1;
+            }
+            if (name.equals("runTaskLater")) {
+                delayedTasks.add((Runnable) args[1]);
+                return null;
+            }
+            return UNHANDLED;
+        }
+    }
+
+    private static class ItemFactoryHandler extends StubHandler {
+
+        @Override
+        protected Object handle(Object proxy, String name, Object[] args) {
+            switch (name) {
+                case "getItemMeta":
+                    return args[0] == Material.AIR ? null : MetaHandler.create(null, null);
+                case "isApplicable":
+                    return args[0] == null || Proxy.isProxyClass(args[0].getClass());
+                case "asMetaFor":
+                    return args[0];
+                case "equals":
+                    if (args.length == 2) {
+                        return MetaHandler.of((ItemMeta) args[0]).equals(MetaHandler.of((ItemMeta) args[1]));
+                    }
+                    return UNHANDLED;
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    /**
+     * Item meta holding only a display name and lore, which is all MenuAPI uses
+     */
+    private static class MetaHandler extends StubHandler {
+
+        private static final MetaHandler EMPTY = new MetaHandler(null, null);
+
+        private String displayName;
+        private List<String> lore;
+
+        private MetaHandler(String displayName, List<String> lore) {
+            this.displayName = displayName;
+            this.lore = lore == null ? null : new ArrayList<>(lore);
+        }
+
+        static ItemMeta create(String displayName, List<String> lore) {
+            return StubHandler.create(ItemMeta.class, new MetaHandler(displayName, lore));
+        }
+
+        static MetaHandler of(ItemMeta meta) {
+            return meta == null ? EMPTY : (MetaHandler) Proxy.getInvocationHandler(meta);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Object handle(Object proxy, String name, Object[] args) {
+            switch (name) {
+                case "hasDisplayName":
+                    return displayName != null;
+                case "getDisplayName":
+                    return displayName;
+                case "setDisplayName":
+                    displayName = (String) args[0];
+                    return null;
+                case "hasLore":
+                    return lore != null && !lore.isEmpty();
+                case "getLore":
+                    return lore == null ? null : new ArrayList<>(lore);
+                case "setLore":
+                    lore = args[0] == null ? null : new ArrayList<>((List<String>) args[0]);
+                    return null;
+                case "clone":
+                    return create(displayName, lore);
+                case "serialize":
+                    Map<String, Object> serialized = new LinkedHashMap<>();
+                    if (displayName != null) {
+                        serialized.put("display-name", displayName);
+                    }
+                    if (lore != null) {
+                        serialized.put("lore", new ArrayList<>(lore));
+                    }
+                    return serialized;
+                case "equals":
+                    return args[0] instanceof ItemMeta && this.equals(of((ItemMeta) args[0]));
+                case "hashCode":
+                    return this.hashCode();
+                default:
+                    return UNHANDLED;
+            }
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof MetaHandler)) {
+                return false;
+            }
+            MetaHandler other = (MetaHandler) object;
+            boolean sameName = displayName == null ? other.displayName == null : displayName.equals(other.displayName);
+            boolean hasLore = lore != null && !lore.isEmpty();
+            boolean otherHasLore = other.lore != null && !other.lore.isEmpty();
+            return sameName && hasLore == otherHasLore && (!hasLore || lore.equals(other.lore));
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = displayName == null ? 0 : displayName.hashCode();
+            return 31 * hash + (lore == null || lore.isEmpty() ? 0 : lore.hashCode());
+        }
+    }
+}
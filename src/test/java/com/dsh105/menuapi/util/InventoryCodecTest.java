@@ -0,0 +1,134 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.util;
+
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class InventoryCodecTest {
+
+    private Inventory inventory;
+
+    @Before
+    public void setUp() {
+        StubServer.get();
+        inventory = Bukkit.createInventory(null, 18, "Codec");
+        inventory.setItem(0, new ItemStack(Material.STONE, 3));
+        inventory.setItem(17, new ItemStack(Material.DIRT, 1, (short) 2));
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            Inventory decoded = InventoryCodec.decode(InventoryCodec.encode(inventory, compress));
+            assertEquals(18, decoded.getSize());
+            assertEquals("Codec", decoded.getTitle());
+            assertEquals(new ItemStack(Material.STONE, 3), decoded.getItem(0));
+            assertEquals(new ItemStack(Material.DIRT, 1, (short) 2), decoded.getItem(17));
+        }
+    }
+
+    @Test
+    public void truncatedDataIsRejectedWithIOException() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            byte[] encoded = InventoryCodec.encode(inventory, compress);
+            for (int length = 0; length < encoded.length; length++) {
+                try {
+                    InventoryCodec.decode(Arrays.copyOf(encoded, length));
+                    fail("Decoded an inventory truncated to " + length + " bytes");
+                } catch (IOException expected) {
+                    // Rejected as expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void corruptDataOnlyThrowsIOException() throws IOException {
+        Random random = new Random(105);
+        for (boolean compress : new boolean[]{false, true}) {
+            byte[] encoded = InventoryCodec.encode(inventory, compress);
+            for (int i = 0; i < 20000; i++) {
+                byte[] corrupt = encoded.clone();
+                for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                    corrupt[4 + random.nextInt(corrupt.length - 4)] = (byte) random.nextInt(256);
+                }
+                try {
+                    InventoryCodec.decode(corrupt);
+                } catch (IOException expected) {
+                    // Rejected as expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void forgedSizesAndCountsAreRejected() throws IOException {
+        assertRejected(encoded(10, 0, -1, null));
+        assertRejected(encoded(63, 0, -1, null));
+        assertRejected(encoded(18, 19, -1, null));
+        assertRejected(encoded(18, 1, 18, null));
+        assertRejected(encoded(18, 1, 0, Integer.MAX_VALUE));
+        assertRejected(encoded(18, 1, 0, -1));
+    }
+
+    private static void assertRejected(byte[] encoded) {
+        try {
+            InventoryCodec.decode(encoded);
+            fail("Decoded forged inventory data");
+        } catch (IOException expected) {
+            // Rejected as expected
+        }
+    }
+
+    /**
+     * Builds uncompressed inventory data by hand, optionally holding a single list value of the given length
+     */
+    private static byte[] encoded(int size, int count, int slot, Integer listLength) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(0x4D49);
+        out.writeByte(1);
+        out.writeByte(0);
+        out.writeUTF("Forged");
+        out.writeShort(size);
+        out.writeShort(count);
+        if (slot >= 0) {
+            out.writeShort(slot);
+            if (listLength != null) {
+                out.writeByte(9); // List
+                out.writeInt(listLength);
+            }
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+}
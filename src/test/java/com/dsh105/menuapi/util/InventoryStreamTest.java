@@ -0,0 +1,90 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.util;
+
+import com.dsh105.menuapi.stub.StubServer;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class InventoryStreamTest {
+
+    private byte[] stream;
+
+    @Before
+    public void setUp() throws IOException {
+        StubServer.get();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InventoryWriter writer = new InventoryWriter(bytes, true)) {
+            for (int i = 1; i <= 2; i++) {
+                Inventory inventory = Bukkit.createInventory(null, 9 * i, "Stream " + i);
+                inventory.setItem(i, new ItemStack(Material.STONE, i));
+                writer.write(inventory);
+            }
+        }
+        stream = bytes.toByteArray();
+    }
+
+    @Test
+    public void readsInventoriesInOrder() throws IOException {
+        try (InventoryReader reader = new InventoryReader(new ByteArrayInputStream(stream))) {
+            assertEquals("Stream 1", reader.read().getTitle());
+            Inventory second = reader.read();
+            assertEquals(18, second.getSize());
+            assertEquals(new ItemStack(Material.STONE, 2), second.getItem(2));
+            assertEquals(null, reader.read());
+        }
+    }
+
+    @Test
+    public void corruptFrameLengthIsRejected() throws IOException {
+        for (int length : new int[]{Integer.MAX_VALUE, InventoryCodec.MAX_LENGTH + 1, -1}) {
+            byte[] corrupt = stream.clone();
+            ByteBuffer.wrap(corrupt, 4, 4).putInt(length);
+            try (InventoryReader reader = new InventoryReader(new ByteArrayInputStream(corrupt))) {
+                reader.readEncoded();
+                fail("Read a frame of length " + length);
+            } catch (IOException expected) {
+                // Rejected before allocating the frame
+            }
+        }
+    }
+
+    @Test
+    public void truncatedFrameIsRejected() throws IOException {
+        byte[] truncated = Arrays.copyOf(stream, stream.length - 1);
+        try (InventoryReader reader = new InventoryReader(new ByteArrayInputStream(truncated))) {
+            reader.read();
+            reader.read();
+            fail("Read a truncated frame");
+        } catch (IOException expected) {
+            // Rejected as expected
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.dsh105.menuapi.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MenuIdTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 1000000;
+    // Room for each thread's partly used block of IDs
+    private static final int SLACK_PER_THREAD = 1 << 16;
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        // IDs handed out after this one are greater than it, so offsets from it index a shared bitset
+        final long base = MenuId.next();
+        final long capacity = (long) THREADS * (IDS_PER_THREAD + SLACK_PER_THREAD);
+        final AtomicLongArray seen = new AtomicLongArray((int) ((capacity + 63) / 64));
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        start.await();
+                        int duplicates = 0;
+                        for (int i = 0; i < IDS_PER_THREAD; i++) {
+                            long id = MenuId.next();
+                            long offset = id - base;
+                            assertTrue("ID out of expected range: " + id, offset > 0 && offset < capacity);
+                            if (!set(seen, offset)) {
+                                duplicates++;
+                            }
+                        }
+                        return duplicates;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int duplicates = 0;
+            for (Future<Integer> result : results) {
+                duplicates += result.get();
+            }
+            assertEquals(0, duplicates);
+
+            long total = 0;
+            for (int i = 0; i < seen.length(); i++) {
+                total += Long.bitCount(seen.get(i));
+            }
+            assertEquals((long) THREADS * IDS_PER_THREAD, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean set(AtomicLongArray bits, long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << (index & 63);
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    @Test
+    public void idsIncreaseWithinAThread() {
+        long previous = MenuId.next();
+        for (int i = 0; i < 10000; i++) {
+            long next = MenuId.next();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+}
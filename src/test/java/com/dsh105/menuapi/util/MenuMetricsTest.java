@@ -0,0 +1,54 @@
+/*
+ * This file is part of MenuAPI.
+ *
+ * MenuAPI is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MenuAPI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MenuAPI.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dsh105.menuapi.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MenuMetricsTest {
+
+    @Test
+    public void nullNameUsesUnnamed() {
+        MenuStats stats = MenuMetrics.getStats(null);
+        assertSame(MenuMetrics.getStats(MenuMetrics.UNNAMED), stats);
+        assertEquals(MenuMetrics.UNNAMED, stats.getName());
+        assertEquals(null, MenuMetrics.remove(null));
+    }
+
+    @Test
+    public void namesAreBounded() {
+        for (int i = 0; i < MenuMetrics.MAX_NAMES * 4; i++) {
+            MenuMetrics.getStats("bounded-" + i).recordShow(1000);
+        }
+        assertTrue(MenuMetrics.getAllStats().size() <= MenuMetrics.MAX_NAMES + 1);
+
+        MenuStats overflow = MenuMetrics.getStats("bounded-" + (MenuMetrics.MAX_NAMES * 4));
+        assertEquals(MenuMetrics.OVERFLOW, overflow.getName());
+        assertTrue(overflow.getOpens() > 0);
+        assertTrue(MenuMetrics.toPrometheus().contains("menu=\"" + MenuMetrics.OVERFLOW + "\""));
+
+        for (int i = 0; i < MenuMetrics.MAX_NAMES * 4; i++) {
+            MenuMetrics.remove("bounded-" + i);
+        }
+        MenuMetrics.remove(MenuMetrics.OVERFLOW);
+        assertEquals("bounded-0", MenuMetrics.getStats("bounded-0").getName());
+        MenuMetrics.remove("bounded-0");
+    }
+}